@@ -0,0 +1,30 @@
+package lab4.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs the benchmarks with the GC profiler (allocation rate per op) and writes JSON results.
+// Throughput and SampleTime (latency percentiles) come from each benchmark's @BenchmarkMode.
+// Usage: BenchmarkRunner [include regex] [result file], e.g. BenchmarkRunner Pricing pricing.json
+// Flags in the bench.jvmArgs system property are appended to every forked benchmark JVM.
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "lab4\\.benchmarks\\..*";
+        String resultFile = args.length > 1 ? args[1] : "jmh-result.json";
+        String jvmArgs = System.getProperty("bench.jvmArgs", "").trim();
+        Options options = new OptionsBuilder()
+                .include(include)
+                .jvmArgsAppend(jvmArgs.isEmpty() ? new String[0] : jvmArgs.split("\\s+"))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .shouldFailOnError(true)
+                .build();
+        new Runner(options).run();
+    }
+}
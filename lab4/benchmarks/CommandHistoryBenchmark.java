@@ -0,0 +1,72 @@
+package lab4.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import lab4.domain.booking.BookingManager;
+import lab4.domain.command.CancelLessonCommand;
+import lab4.domain.command.CommandHistory;
+import lab4.domain.command.ScheduleLessonCommand;
+import lab4.domain.factory.LessonFactory;
+import lab4.domain.models.Lesson;
+import lab4.domain.models.Tutor;
+import lab4.domain.models.TutorRegistry;
+
+// Command execution on a history already filled to its depth.
+// executeAndCancel: schedule, then cancel, each recorded - the history stays full, so every execute
+// evicts the oldest command, the steady state of a long session.
+// executeAndUndo: after the first call the undo leaves one free slot, so later executes only
+// truncate the one-command redo tail and never evict.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandHistoryBenchmark {
+    @Param({"10", "100", "1000"})
+    public int historySize;
+
+    private CommandHistory history;
+    private ScheduleLessonCommand command;
+    private CancelLessonCommand cancel;
+
+    @Setup
+    public void setUp() {
+        SilentOutput.install();
+        BookingManager manager = BookingManager.getInstance();
+        TutorRegistry tutors = TutorRegistry.getInstance();
+        Lesson lesson = LessonFactory.createLesson("math");
+        history = new CommandHistory(historySize);
+        for (int i = 0; i < historySize; i++) {
+            Tutor tutor = tutors.intern("Bench tutor " + i, "Math", 5);
+            history.executeCommand(new ScheduleLessonCommand(manager, tutor, lesson, "Monday 10AM"));
+        }
+        Tutor hot = tutors.intern("Hot tutor", "Math", 5);
+        command = new ScheduleLessonCommand(manager, hot, lesson, "Tuesday 3PM");
+        cancel = new CancelLessonCommand(manager, hot, lesson, "Tuesday 3PM", "Benchmark");
+    }
+
+    @Benchmark
+    public void executeAndCancel() {
+        history.executeCommand(command);
+        history.executeCommand(cancel);
+    }
+
+    @Benchmark
+    public void executeAndUndo() {
+        history.executeCommand(command);
+        history.undo();
+    }
+}
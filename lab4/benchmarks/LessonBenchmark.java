@@ -0,0 +1,82 @@
+package lab4.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import lab4.domain.decorators.LessonComposer;
+import lab4.domain.decorators.LessonFeature;
+import lab4.domain.decorators.MaterialsLessonDecorator;
+import lab4.domain.decorators.PremiumLessonDecorator;
+import lab4.domain.decorators.RecordedLessonDecorator;
+import lab4.domain.factory.LessonFactory;
+import lab4.domain.models.Lesson;
+
+// LessonFactory lookups and teach() through decorator stacks of growing depth,
+// either as nested decorators or as the equivalent flattened FeaturedLesson
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LessonBenchmark {
+    private static final LessonFeature[] FEATURES = {
+            LessonFeature.PREMIUM, LessonFeature.RECORDED, LessonFeature.MATERIALS };
+
+    @Param({"0", "1", "2", "3"})
+    public int decoratorDepth;
+
+    @Param({"decorators", "flattened"})
+    public String composition;
+
+    private Lesson lesson;
+
+    @Setup
+    public void setUp() {
+        SilentOutput.install();
+        Lesson base = LessonFactory.createLesson("math");
+        if (composition.equals("flattened")) {
+            LessonFeature[] features = new LessonFeature[decoratorDepth];
+            System.arraycopy(FEATURES, 0, features, 0, decoratorDepth);
+            lesson = LessonComposer.compose(base, features);
+            return;
+        }
+        lesson = base;
+        if (decoratorDepth > 0) {
+            lesson = new PremiumLessonDecorator(lesson);
+        }
+        if (decoratorDepth > 1) {
+            lesson = new RecordedLessonDecorator(lesson);
+        }
+        if (decoratorDepth > 2) {
+            lesson = new MaterialsLessonDecorator(lesson);
+        }
+    }
+
+    @Benchmark
+    public Lesson createLesson() {
+        return LessonFactory.createLesson("programming");
+    }
+
+    // Mixed case falls back to the case-insensitive scan
+    @Benchmark
+    public Lesson createLessonMixedCase() {
+        return LessonFactory.createLesson("Programming");
+    }
+
+    @Benchmark
+    public void teach() {
+        lesson.teach();
+    }
+}
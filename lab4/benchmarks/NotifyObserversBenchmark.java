@@ -0,0 +1,88 @@
+package lab4.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import lab4.domain.factory.LessonFactory;
+import lab4.domain.metrics.BookingMetrics;
+import lab4.domain.models.TimeSlot;
+import lab4.domain.models.Tutor;
+import lab4.domain.observer.BookingEvent;
+import lab4.domain.observer.BookingEventType;
+import lab4.domain.observer.BookingObserver;
+import lab4.domain.observer.BookingSubject;
+
+// Fan-out cost of BookingSubject.notifyObservers for a growing number of observers.
+// The observers only sink the event into a Blackhole, so this measures dispatch, not observer work;
+// metrics=true shows what counting and timing every delivery adds to it.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotifyObserversBenchmark {
+    @Param({"1", "4", "16", "64"})
+    public int observerCount;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private BookingSubject subject;
+    private BookingEvent event;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        SilentOutput.install();
+        subject = new BookingSubject();
+        if (metrics) {
+            subject.enableMetrics(new BookingMetrics());
+        }
+        for (int i = 0; i < observerCount; i++) {
+            subject.attach(new BlackholeObserver(blackhole));
+        }
+        Tutor tutor = new Tutor.Builder().setName("Bench").setSubject("Math").setExperience(5).build();
+        event = BookingEvent.of(BookingEventType.BOOKING_CONFIRMED, tutor,
+                LessonFactory.createLesson("math"), TimeSlot.parse("Monday 10AM"));
+    }
+
+    @Benchmark
+    public void notifyObservers() {
+        subject.notifyObservers(event);
+    }
+
+    // Ten events delivered as one updateBatch call per observer
+    @Benchmark
+    public void notifyObserversBatched() {
+        subject.beginBatch();
+        for (int i = 0; i < 10; i++) {
+            subject.notifyObservers(event);
+        }
+        subject.endBatch();
+    }
+
+    private static final class BlackholeObserver implements BookingObserver {
+        private final Blackhole blackhole;
+
+        BlackholeObserver(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void update(BookingEvent event) {
+            blackhole.consume(event);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package lab4.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import lab4.domain.strategy.BulkDiscountStrategy;
+import lab4.domain.strategy.PricingContext;
+import lab4.domain.strategy.PricingPipeline;
+import lab4.domain.strategy.PricingStrategy;
+import lab4.domain.strategy.ReferralPricingStrategy;
+import lab4.domain.strategy.SeasonalDiscountStrategy;
+import lab4.domain.strategy.StandardPricingStrategy;
+
+// Single quotes (single-threaded and with four threads sharing one context), bulk array quotes
+// and the console-facing calculateTotalPrice per strategy type
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+    private static final int QUOTES = 1024;
+
+    @Param({"standard", "bulk", "seasonal", "referral", "pipeline"})
+    public String strategyType;
+
+    private PricingContext context;
+    private PricingContext cachedContext;
+    private long[] basePrices = new long[QUOTES];
+    private int[] lessonCounts = new int[QUOTES];
+    private long[] quotes = new long[QUOTES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SilentOutput.install();
+        context = new PricingContext(strategy(strategyType));
+        cachedContext = new PricingContext(strategy(strategyType));
+        cachedContext.enableQuoteCache(4096, 60_000);
+        Random random = new Random(42);
+        for (int i = 0; i < QUOTES; i++) {
+            basePrices[i] = 2_000 + random.nextInt(8) * 500;
+            lessonCounts[i] = 1 + random.nextInt(20);
+        }
+    }
+
+    @Benchmark
+    public long quote() {
+        int i = next++ & (QUOTES - 1);
+        return context.quoteCents(basePrices[i], lessonCounts[i]);
+    }
+
+    @Benchmark
+    public long quoteCached() {
+        int i = next++ & (QUOTES - 1);
+        return cachedContext.quoteCents(basePrices[i], lessonCounts[i]);
+    }
+
+    // The same cache shared by four quoting threads - shows what segment-lock contention costs on hits
+    @Benchmark
+    @Threads(4)
+    public long quoteCachedContended() {
+        int i = ThreadLocalRandom.current().nextInt(QUOTES);
+        return cachedContext.quoteCents(basePrices[i], lessonCounts[i]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long quoteContended() {
+        int i = ThreadLocalRandom.current().nextInt(QUOTES);
+        return context.quoteCents(basePrices[i], lessonCounts[i]);
+    }
+
+    @Benchmark
+    public long[] quoteBulk() {
+        context.quoteCents(basePrices, lessonCounts, quotes);
+        return quotes;
+    }
+
+    // Includes building the explanation lines (written to a discarding sink)
+    @Benchmark
+    public double calculateTotalPrice() {
+        int i = next++ & (QUOTES - 1);
+        return context.calculateTotalPrice(basePrices[i] / 100.0, lessonCounts[i]);
+    }
+
+    static PricingStrategy strategy(String type) {
+        switch (type) {
+            case "standard":
+                return new StandardPricingStrategy();
+            case "bulk":
+                return new BulkDiscountStrategy();
+            case "seasonal":
+                return new SeasonalDiscountStrategy("Summer", 0.15);
+            case "referral":
+                return new ReferralPricingStrategy(3);
+            case "pipeline":
+                return new PricingPipeline.Builder()
+                        .setName("Benchmark promotion")
+                        .add(new BulkDiscountStrategy(), 1)
+                        .add(new SeasonalDiscountStrategy("Summer", 0.15), 2)
+                        .add(new ReferralPricingStrategy(3), 3)
+                        .setMaxDiscount(0.4)
+                        .build();
+            default:
+                throw new IllegalArgumentException("Unknown strategy type: " + type);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package lab4.benchmarks;
+
+import lab4.domain.logging.Output;
+import lab4.domain.logging.OutputSink;
+
+// Discards domain output so benchmarks measure the code, not the console
+final class SilentOutput implements OutputSink {
+    private static final SilentOutput INSTANCE = new SilentOutput();
+
+    private SilentOutput() {}
+
+    static void install() {
+        Output.setSink(INSTANCE);
+    }
+
+    @Override
+    public void println(String line) {
+    }
+
+    @Override
+    public void flush() {
+    }
+}
@@ -2,6 +2,7 @@ package lab4.client;
 
 import lab4.domain.factory.LessonFactory;
 import lab4.domain.models.Lesson;
+import lab4.domain.models.TimeSlot;
 import lab4.domain.models.Tutor;
 import lab4.domain.observer.*;
 import lab4.domain.strategy.*;
@@ -44,18 +45,24 @@ public class Main {
                 .setExperience(15)
                 .build();
         
+        TimeSlot slot = TimeSlot.parse("Friday 9AM");
+        
         // Demonstrate observer pattern
         System.out.println("--- Events trigger notifications to all observers ---");
-        bookingManager.bookLesson(tutorModel, lesson);
+        bookingManager.bookLesson(tutorModel, lesson, slot);
         bookingManager.startLesson(tutorModel, lesson);
         bookingManager.completeLesson(tutorModel, lesson);
         
+        System.out.println("\n--- Double booking is rejected (no notifications) ---");
+        boolean booked = bookingManager.bookLesson(tutorModel, LessonFactory.createLesson("english"), TimeSlot.parse("Friday 9:30AM"));
+        System.out.println("[" + (booked ? "✓" : "✗") + "] English lesson at Friday 9:30AM " + (booked ? "booked" : "rejected"));
+        
         System.out.println("\n--- Student unsubscribes ---");
         bookingManager.detach(student);
         System.out.println("[✓] Alice unsubscribed\n");
         
         System.out.println("--- Cancellation (only 2 observers notified) ---");
-        bookingManager.cancelBooking(tutorModel, lesson);
+        bookingManager.cancelBooking(tutorModel, lesson, slot);
     }
     
     private static void demonstrateStrategy() {
@@ -80,6 +87,16 @@ public class Main {
         // Referral
         context.setStrategy(new ReferralPricingStrategy(3));
         context.calculateTotalPrice(lessonPrice, 4);
+        
+        // Stacked promotions
+        context.setStrategy(new PricingPipeline.Builder()
+                .setName("Summer Bulk + Referral")
+                .add(new BulkDiscountStrategy(), 2)
+                .add(new SeasonalDiscountStrategy("Summer", 0.15), 1)
+                .add(new ReferralPricingStrategy(3), 0)
+                .setMaxDiscount(0.40)
+                .build());
+        context.calculateTotalPrice(lessonPrice, 10);
     }
     
     private static void demonstrateCommand() {
@@ -119,7 +136,7 @@ public class Main {
         history.showHistory();
         
         // Cancel and undo cancellation
-        history.executeCommand(new CancelLessonCommand(bookingManager, tutor, lesson1, "Tuesday 3PM", "Emergency"));
+        history.executeCommand(new CancelLessonCommand(bookingManager, tutor, lesson1, "Monday 10AM", "Emergency"));
         history.showHistory();
         
         System.out.println("\n--- Undo cancellation ---");
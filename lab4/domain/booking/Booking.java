@@ -0,0 +1,41 @@
+package lab4.domain.booking;
+
+import lab4.domain.models.Lesson;
+import lab4.domain.models.TimeSlot;
+import lab4.domain.models.Tutor;
+
+// A stored booking: one lesson with one tutor in one time slot
+public final class Booking {
+    private final long id;
+    private final Tutor tutor;
+    private final Lesson lesson;
+    private final TimeSlot slot;
+
+    Booking(long id, Tutor tutor, Lesson lesson, TimeSlot slot) {
+        this.id = id;
+        this.tutor = tutor;
+        this.lesson = lesson;
+        this.slot = slot;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Tutor getTutor() {
+        return tutor;
+    }
+
+    public Lesson getLesson() {
+        return lesson;
+    }
+
+    public TimeSlot getSlot() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return lesson.getClass().getSimpleName() + " with " + tutor.getName() + " at " + slot;
+    }
+}
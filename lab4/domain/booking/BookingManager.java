@@ -1,43 +1,115 @@
 package lab4.domain.booking;
+import java.util.Collection;
+import java.util.List;
+
 import lab4.domain.models.Tutor;
 import lab4.domain.models.Lesson;
+import lab4.domain.models.TimeSlot;
+import lab4.domain.observer.BookingEvent;
+import lab4.domain.observer.BookingEventType;
 import lab4.domain.observer.BookingSubject;
 
 // Singleton class to manage bookings - now with Observer pattern integration
+// Bookings are stored per tutor, so double-booking a tutor is rejected instead of silently notified.
+// Safe to share between request threads: booking, cancelling and rescheduling are atomic per tutor.
 public class BookingManager extends BookingSubject {
-    private static volatile BookingManager instance;
+    private final BookingStore store = new BookingStore();
     
     private BookingManager() {}
 
+    // Created by the first getInstance call; the JVM's class initialization makes that thread-safe
+    // without a lock or a volatile read on every later call
+    private static final class Holder {
+        private static final BookingManager INSTANCE = new BookingManager();
+    }
+
     public static BookingManager getInstance() {
-        if (instance == null) {
-            synchronized (BookingManager.class) {
-                if (instance == null) {
-                    instance = new BookingManager();
-                }
-            }
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
-    public void bookLesson(Tutor tutor, Lesson lesson) {
+    // Returns false (and notifies nobody) when the tutor already has a lesson overlapping the slot
+    public boolean bookLesson(Tutor tutor, Lesson lesson, TimeSlot slot) {
+        Booking booking = store.add(tutor, lesson, slot);
+        if (booking == null) {
+            return false;
+        }
         // Notify observers about the booking
-        notifyObservers("BOOKING_CONFIRMED", 
-            lesson.getClass().getSimpleName() + " booked with " + tutor.getName());
+        publish(BookingEventType.BOOKING_CONFIRMED, tutor, lesson, slot);
+        return true;
     }
     
     public void startLesson(Tutor tutor, Lesson lesson) {
-        notifyObservers("LESSON_STARTING",
-            "Lesson with " + tutor.getName() + " is starting now!");
+        publish(BookingEventType.LESSON_STARTING, tutor, lesson, null);
     }
     
     public void completeLesson(Tutor tutor, Lesson lesson) {
-        notifyObservers("LESSON_COMPLETED",
-            "Lesson with " + tutor.getName() + " completed successfully!");
+        publish(BookingEventType.LESSON_COMPLETED, tutor, lesson, null);
     }
     
-    public void cancelBooking(Tutor tutor, Lesson lesson) {
-        notifyObservers("BOOKING_CANCELLED",
-            lesson.getClass().getSimpleName() + " with " + tutor.getName() + " has been cancelled.");
+    // Returns false when the tutor has no booking of that lesson in that slot; lessons are compared
+    // by identity, so pass the instance that was booked
+    public boolean cancelBooking(Tutor tutor, Lesson lesson, TimeSlot slot) {
+        Booking booking = store.remove(tutor, lesson, slot);
+        if (booking == null) {
+            return false;
+        }
+        publish(BookingEventType.BOOKING_CANCELLED, tutor, booking.getLesson(), slot);
+        return true;
+    }
+
+    // Moves a booking to a new slot; nothing changes when the tutor has no booking of that lesson
+    // in the old slot or the new slot is taken
+    public boolean rescheduleLesson(Tutor tutor, Lesson lesson, TimeSlot from, TimeSlot to) {
+        Booking moved = store.move(tutor, lesson, from, to);
+        if (moved == null) {
+            return false;
+        }
+        if (wantsEvent(BookingEventType.LESSON_RESCHEDULED)) {
+            notifyObservers(BookingEvent.rescheduled(tutor, moved.getLesson(), from, to));
+        }
+        return true;
+    }
+
+    // Puts a booking back without notifying anyone - used when rebuilding state on startup
+    public boolean restoreBooking(Tutor tutor, Lesson lesson, TimeSlot slot) {
+        return store.add(tutor, lesson, slot) != null;
+    }
+
+    // Silent counterparts of cancelBooking and rescheduleLesson, for replaying a journal on startup
+    public boolean restoreCancellation(Tutor tutor, Lesson lesson, TimeSlot slot) {
+        return store.remove(tutor, lesson, slot) != null;
+    }
+
+    public boolean restoreReschedule(Tutor tutor, Lesson lesson, TimeSlot from, TimeSlot to) {
+        return store.move(tutor, lesson, from, to) != null;
+    }
+
+    // Copy of every stored booking, e.g. for snapshots
+    public Collection<Booking> getAllBookings() {
+        return store.all();
+    }
+
+    public boolean isAvailable(Tutor tutor, TimeSlot slot) {
+        return store.isAvailable(tutor, slot);
+    }
+
+    // Everything the tutor has overlapping the window, e.g. getSchedule(tutor, TimeSlot.parse("Tuesday"))
+    public List<Booking> getSchedule(Tutor tutor, TimeSlot window) {
+        return store.findByTutor(tutor, window);
+    }
+
+    // Bookings of all tutors starting inside the window
+    public List<Booking> getBookingsStartingBetween(TimeSlot window) {
+        return store.findStartingBetween(window);
+    }
+
+    public int getBookingCount() {
+        return store.size();
+    }
+
+    private void publish(BookingEventType eventType, Tutor tutor, Lesson lesson, TimeSlot slot) {
+        if (wantsEvent(eventType)) {
+            notifyObservers(BookingEvent.of(eventType, tutor, lesson, slot));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,282 @@
+package lab4.domain.booking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lab4.domain.models.Lesson;
+import lab4.domain.models.TimeSlot;
+import lab4.domain.models.Tutor;
+import lab4.domain.models.TutorRegistry;
+
+// In-memory booking storage indexed by tutor and by time.
+// Each tutor's bookings never overlap, so a TreeMap keyed by start minute answers
+// "is this slot free" with one floor and one ceiling lookup - O(log n) per tutor.
+// Every tutor's schedule is guarded by one of a fixed set of striped locks, so bookings for
+// different tutors proceed in parallel while check-and-insert for one tutor stays atomic.
+// Tutors are resolved to their TutorRegistry id and schedules are found by array index. Only add
+// registers a tutor; the other operations look the tutor up, and an unknown tutor has no bookings.
+class BookingStore {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final TutorRegistry tutors = TutorRegistry.getInstance();
+    // tutor id -> schedule; grown and filled under growLock, each schedule guarded by its stripe lock
+    private volatile TreeMap<Long, Booking>[] byTutor = newSchedules(64);
+    private final Object growLock = new Object();
+    // (start minute, booking id) -> booking, across all tutors
+    private final ConcurrentSkipListMap<StartKey, Booking> byStart = new ConcurrentSkipListMap<>();
+    private final ReentrantLock[] stripes;
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicInteger size = new AtomicInteger();
+
+    BookingStore() {
+        this(DEFAULT_STRIPES);
+    }
+
+    BookingStore(int minimumStripes) {
+        int count = Integer.highestOneBit(Math.max(1, minimumStripes - 1)) << 1;
+        stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // Returns the stored booking, or null when the tutor already has something overlapping the slot
+    Booking add(Tutor tutor, Lesson lesson, TimeSlot slot) {
+        tutor = tutors.intern(tutor);
+        int id = tutor.getId();
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            TreeMap<Long, Booking> schedule = createSchedule(id);
+            if (findConflict(schedule, slot) != null) {
+                return null;
+            }
+            Booking booking = new Booking(nextId.getAndIncrement(), tutor, lesson, slot);
+            insert(schedule, booking);
+            return booking;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Removes the tutor's booking of this lesson (the same instance) that occupies exactly the slot
+    Booking remove(Tutor tutor, Lesson lesson, TimeSlot slot) {
+        tutor = tutors.find(tutor);
+        if (tutor == null) {
+            return null;
+        }
+        int id = tutor.getId();
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            TreeMap<Long, Booking> schedule = schedule(id);
+            Booking booking = schedule == null ? null : schedule.get(slot.getStartMinute());
+            if (!matches(booking, lesson, slot)) {
+                return null;
+            }
+            delete(schedule, booking);
+            return booking;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Moves the tutor's booking of this lesson atomically: either the new slot is taken or nothing changes
+    Booking move(Tutor tutor, Lesson lesson, TimeSlot from, TimeSlot to) {
+        tutor = tutors.find(tutor);
+        if (tutor == null) {
+            return null;
+        }
+        int id = tutor.getId();
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            TreeMap<Long, Booking> schedule = schedule(id);
+            Booking existing = schedule == null ? null : schedule.get(from.getStartMinute());
+            if (!matches(existing, lesson, from)) {
+                return null;
+            }
+            delete(schedule, existing);
+            if (findConflict(schedule, to) != null) {
+                insert(schedule, existing);
+                return null;
+            }
+            Booking moved = new Booking(existing.getId(), tutor, existing.getLesson(), to);
+            insert(schedule, moved);
+            return moved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isAvailable(Tutor tutor, TimeSlot slot) {
+        tutor = tutors.find(tutor);
+        if (tutor == null) {
+            return true;
+        }
+        int id = tutor.getId();
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            TreeMap<Long, Booking> schedule = schedule(id);
+            return schedule == null || findConflict(schedule, slot) == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Bookings of one tutor that overlap the window, in start order
+    List<Booking> findByTutor(Tutor tutor, TimeSlot window) {
+        List<Booking> result = new ArrayList<>();
+        tutor = tutors.find(tutor);
+        if (tutor == null) {
+            return result;
+        }
+        int id = tutor.getId();
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            TreeMap<Long, Booking> schedule = schedule(id);
+            if (schedule == null) {
+                return result;
+            }
+            Map.Entry<Long, Booking> before = schedule.lowerEntry(window.getStartMinute());
+            if (before != null && before.getValue().getSlot().overlaps(window)) {
+                result.add(before.getValue());
+            }
+            result.addAll(schedule.subMap(window.getStartMinute(), true, window.getEndMinute(), false).values());
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Bookings of all tutors that start inside the window, in start order (weakly consistent under writes)
+    List<Booking> findStartingBetween(TimeSlot window) {
+        StartKey from = new StartKey(window.getStartMinute(), Long.MIN_VALUE);
+        StartKey to = new StartKey(window.getEndMinute(), Long.MIN_VALUE);
+        return new ArrayList<>(byStart.subMap(from, true, to, false).values());
+    }
+
+    // Per-tutor consistent copy of every booking
+    Collection<Booking> all() {
+        List<Booking> result = new ArrayList<>(size.get());
+        TreeMap<Long, Booking>[] schedules = byTutor;
+        for (int id = 0; id < schedules.length; id++) {
+            ReentrantLock lock = lockFor(id);
+            lock.lock();
+            try {
+                TreeMap<Long, Booking> schedule = schedule(id);
+                if (schedule != null) {
+                    result.addAll(schedule.values());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    // ids are dense, so consecutive tutors land on different stripes
+    private ReentrantLock lockFor(int tutorId) {
+        return stripes[tutorId & (stripes.length - 1)];
+    }
+
+    // Caller holds the tutor's stripe lock; null when the tutor never had a booking
+    private TreeMap<Long, Booking> schedule(int tutorId) {
+        TreeMap<Long, Booking>[] schedules = byTutor;
+        return tutorId < schedules.length ? schedules[tutorId] : null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static TreeMap<Long, Booking>[] newSchedules(int length) {
+        return new TreeMap[length];
+    }
+
+    private TreeMap<Long, Booking> createSchedule(int tutorId) {
+        TreeMap<Long, Booking> schedule = schedule(tutorId);
+        if (schedule != null) {
+            return schedule;
+        }
+        synchronized (growLock) {
+            TreeMap<Long, Booking>[] schedules = byTutor;
+            if (tutorId >= schedules.length) {
+                schedules = Arrays.copyOf(schedules, Math.max(schedules.length * 2, tutorId + 1));
+            }
+            if (schedules[tutorId] == null) {
+                schedules[tutorId] = new TreeMap<>();
+            }
+            byTutor = schedules;
+            return schedules[tutorId];
+        }
+    }
+
+    private static boolean matches(Booking booking, Lesson lesson, TimeSlot slot) {
+        return booking != null && booking.getLesson() == lesson && booking.getSlot().equals(slot);
+    }
+
+    private static Booking findConflict(TreeMap<Long, Booking> schedule, TimeSlot slot) {
+        Map.Entry<Long, Booking> floor = schedule.floorEntry(slot.getStartMinute());
+        if (floor != null && floor.getValue().getSlot().overlaps(slot)) {
+            return floor.getValue();
+        }
+        Map.Entry<Long, Booking> ceiling = schedule.higherEntry(slot.getStartMinute());
+        if (ceiling != null && ceiling.getValue().getSlot().overlaps(slot)) {
+            return ceiling.getValue();
+        }
+        return null;
+    }
+
+    // Callers hold the tutor's stripe lock
+    private void insert(TreeMap<Long, Booking> schedule, Booking booking) {
+        long start = booking.getSlot().getStartMinute();
+        schedule.put(start, booking);
+        byStart.put(new StartKey(start, booking.getId()), booking);
+        size.incrementAndGet();
+    }
+
+    private void delete(TreeMap<Long, Booking> schedule, Booking booking) {
+        long start = booking.getSlot().getStartMinute();
+        schedule.remove(start);
+        byStart.remove(new StartKey(start, booking.getId()));
+        size.decrementAndGet();
+    }
+
+    private static final class StartKey implements Comparable<StartKey> {
+        private final long startMinute;
+        private final long bookingId;
+
+        StartKey(long startMinute, long bookingId) {
+            this.startMinute = startMinute;
+            this.bookingId = bookingId;
+        }
+
+        @Override
+        public int compareTo(StartKey other) {
+            int byTime = Long.compare(startMinute, other.startMinute);
+            return byTime != 0 ? byTime : Long.compare(bookingId, other.bookingId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StartKey && compareTo((StartKey) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(startMinute) * 31 + Long.hashCode(bookingId);
+        }
+    }
+}
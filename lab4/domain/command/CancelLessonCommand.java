@@ -1,7 +1,9 @@
 package lab4.domain.command;
 
 import lab4.domain.booking.BookingManager;
+import lab4.domain.logging.Output;
 import lab4.domain.models.Lesson;
+import lab4.domain.models.TimeSlot;
 import lab4.domain.models.Tutor;
 
 // Concrete Command - Cancel a lesson
@@ -9,7 +11,7 @@ public class CancelLessonCommand implements Command {
     private BookingManager bookingManager;
     private Tutor tutor;
     private Lesson lesson;
-    private String timeSlot;
+    private TimeSlot timeSlot;
     private String reason;
     
     public CancelLessonCommand(BookingManager bookingManager, Tutor tutor, Lesson lesson, 
@@ -17,20 +19,24 @@ public class CancelLessonCommand implements Command {
         this.bookingManager = bookingManager;
         this.tutor = tutor;
         this.lesson = lesson;
-        this.timeSlot = timeSlot;
+        this.timeSlot = TimeSlot.parse(timeSlot);
         this.reason = reason;
     }
     
     @Override
     public void execute() {
-        System.out.println("\n[CANCEL] " + lesson.getClass().getSimpleName() + " at " + timeSlot + " (" + reason + ")");
-        bookingManager.cancelBooking(tutor, lesson);
+        Output.println("\n[CANCEL] " + lesson.getClass().getSimpleName() + " at " + timeSlot + " (" + reason + ")");
+        if (!bookingManager.cancelBooking(tutor, lesson, timeSlot)) {
+            throw new IllegalStateException("No booking with " + tutor.getName() + " at " + timeSlot);
+        }
     }
     
     @Override
     public void undo() {
-        System.out.println("\n[RESTORE] " + lesson.getClass().getSimpleName() + " at " + timeSlot);
-        bookingManager.bookLesson(tutor, lesson);
+        Output.println("\n[RESTORE] " + lesson.getClass().getSimpleName() + " at " + timeSlot);
+        if (!bookingManager.bookLesson(tutor, lesson, timeSlot)) {
+            throw new IllegalStateException(tutor.getName() + " is already booked at " + timeSlot);
+        }
     }
     
     @Override
@@ -38,4 +44,21 @@ public class CancelLessonCommand implements Command {
         return "Cancel " + lesson.getClass().getSimpleName() + " with " + tutor.getName() + 
                " at " + timeSlot + " (Reason: " + reason + ")";
     }
+
+    // Accessors for CommandJournal
+    Tutor getTutor() {
+        return tutor;
+    }
+
+    Lesson getLesson() {
+        return lesson;
+    }
+
+    TimeSlot getTimeSlot() {
+        return timeSlot;
+    }
+
+    String getReason() {
+        return reason;
+    }
 }
@@ -1,56 +1,134 @@
 package lab4.domain.command;
 
-import java.util.ArrayList;
-import java.util.List;
+import lab4.domain.logging.Output;
 
 // Invoker - manages and executes commands with undo/redo
+// Commands live in a fixed-size ring buffer: once maxDepth commands are recorded the oldest one
+// falls off, so memory stays flat however long the session runs. All methods are synchronized,
+// which also serializes command execution for one history.
+// With a CommandJournal attached every execute/undo/redo is logged once it has succeeded, and is on
+// disk by the time the call returns.
 public class CommandHistory {
-    private List<Command> history = new ArrayList<>();
-    private int currentPosition = -1;
-    
-    public void executeCommand(Command command) {
-        // Remove any commands after current position (when undoing and then executing new command)
-        while (history.size() > currentPosition + 1) {
-            history.remove(history.size() - 1);
-        }
-        
-        command.execute();
-        history.add(command);
+    public static final int DEFAULT_MAX_DEPTH = 100;
+
+    private final Command[] ring;
+    private int head;                  // ring index of the oldest recorded command
+    private int size;                  // recorded commands, including the redo tail
+    private int currentPosition = -1;  // logical index (0 = oldest) of the last executed command
+    private final CommandJournal journal;
+
+    public CommandHistory() {
+        this(DEFAULT_MAX_DEPTH);
+    }
+
+    public CommandHistory(int maxDepth) {
+        this(maxDepth, null);
+    }
+
+    public CommandHistory(int maxDepth, CommandJournal journal) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("History depth must be positive");
+        }
+        this.ring = new Command[maxDepth];
+        this.journal = journal;
+    }
+
+    public synchronized void executeCommand(Command command) {
+        try {
+            runExecute(command);
+        } catch (IllegalStateException e) {
+            // A rejected command (e.g. slot already taken) is not recorded
+            Output.println("   [WARNING] " + e.getMessage());
+            return;
+        }
+        record(command);
+    }
+
+    private void record(Command command) {
+        // Drop any commands after current position (when undoing and then executing new command).
+        // The abandoned slots are simply overwritten later, so this is O(1).
+        size = currentPosition + 1;
+        if (size == ring.length) {
+            ring[head] = null;
+            head = (head + 1) % ring.length;
+            size--;
+            currentPosition--;
+        }
+        ring[slot(size)] = command;
+        size++;
         currentPosition++;
     }
-    
-    public void undo() {
+
+    public synchronized void undo() {
         if (currentPosition < 0) {
-            System.out.println("   [WARNING] Nothing to undo!");
+            Output.println("   [WARNING] Nothing to undo!");
+            return;
+        }
+
+        Command command = ring[slot(currentPosition)];
+        try {
+            runUndo(command);
+        } catch (IllegalStateException e) {
+            Output.println("   [WARNING] " + e.getMessage());
             return;
         }
-        
-        Command command = history.get(currentPosition);
-        command.undo();
         currentPosition--;
     }
-    
-    public void redo() {
-        if (currentPosition >= history.size() - 1) {
-            System.out.println("   [WARNING] Nothing to redo!");
+
+    public synchronized void redo() {
+        if (currentPosition >= size - 1) {
+            Output.println("   [WARNING] Nothing to redo!");
+            return;
+        }
+
+        Command command = ring[slot(currentPosition + 1)];
+        try {
+            runExecute(command);
+        } catch (IllegalStateException e) {
+            Output.println("   [WARNING] " + e.getMessage());
             return;
         }
-        
         currentPosition++;
-        Command command = history.get(currentPosition);
-        command.execute();
-    }
-    
-    public void showHistory() {
-        System.out.println("\nCommand History:");
-        if (history.isEmpty()) {
-            System.out.println("   (empty)");
+    }
+
+    public synchronized void showHistory() {
+        Output.println("\nCommand History:");
+        if (size == 0) {
+            Output.println("   (empty)");
             return;
         }
-        
-        for (int i = 0; i < history.size(); i++) {
+
+        for (int i = 0; i < size; i++) {
             String marker = (i == currentPosition) ? " > " : "   ";
-            System.out.println(marker + (i + 1) + ". " + history.get(i).getDescription());
+            Output.println(marker + (i + 1) + ". " + ring[slot(i)].getDescription());
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getMaxDepth() {
+        return ring.length;
+    }
+
+    private void runExecute(Command command) {
+        if (journal != null) {
+            journal.execute(command);
+        } else {
+            command.execute();
         }
     }
+
+    private void runUndo(Command command) {
+        if (journal != null) {
+            journal.undo(command);
+        } else {
+            command.undo();
+        }
+    }
+
+    private int slot(int logicalIndex) {
+        return (head + logicalIndex) % ring.length;
+    }
 }
@@ -0,0 +1,685 @@
+package lab4.domain.command;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import lab4.domain.booking.Booking;
+import lab4.domain.booking.BookingManager;
+import lab4.domain.decorators.FeaturedLesson;
+import lab4.domain.decorators.LessonComposer;
+import lab4.domain.factory.LessonFactory;
+import lab4.domain.models.Lesson;
+import lab4.domain.models.TimeSlot;
+import lab4.domain.models.Tutor;
+import lab4.domain.models.TutorRegistry;
+
+// Journal for commands: every execute/undo that succeeds is appended to an append-only binary log,
+// and the log is replayed on startup to rebuild BookingManager. A command is encoded before it runs,
+// so one that cannot be journaled is rejected without touching BookingManager.
+// Lessons are stored as their factory type plus the feature mask of a composed lesson ("math#3").
+//
+// Commands run under a striped lock per tutor, like BookingStore, so commands for different tutors
+// run in parallel while the log keeps each tutor's commands in the order they took effect. The
+// record then gets the next sequence number and joins an append queue; a single writer thread
+// writes everything queued and fsyncs it once (group commit), and execute/undo return when their
+// record is on disk. The writer waits up to syncIntervalMillis, or until syncEveryRecords records
+// are queued, before syncing, trading a little latency for bigger batches; 0 syncs right away.
+//
+// Once compactAfterRecords records pile up the current bookings are written to a snapshot that
+// notes the last sequence number it covers, and the log is emptied. Replay skips records the
+// snapshot already covers, so a crash between the two steps cannot apply a command twice.
+// Replay goes through BookingManager's restore methods: observers hear nothing about history.
+//
+// Record layout: [int length][int CRC32][long sequence][payload], the CRC covering sequence and
+// payload. A torn or corrupt tail (crash mid-write) ends replay and is cut off.
+public class CommandJournal implements AutoCloseable {
+    private static final String JOURNAL_FILE = "commands.journal";
+    private static final String SNAPSHOT_FILE = "bookings.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x4C344253;  // "L4BS"
+    private static final int RECORD_HEADER = 8;
+    private static final char FEATURE_SEPARATOR = '#';
+    private static final int STRIPES = 64;                 // one bit each in a long
+
+    private static final byte OP_SCHEDULE = 1;
+    private static final byte OP_CANCEL = 2;
+    private static final byte OP_RESCHEDULE = 3;
+    private static final byte OP_MACRO = 4;
+
+    private final BookingManager bookingManager;
+    private final Path journalPath;
+    private final Path snapshotPath;
+    private final FileChannel channel;
+    private final int syncEveryRecords;
+    private final long syncIntervalNanos;
+    private final int compactAfterRecords;
+    private final Thread writer;
+
+    // Commands run under the read lock; compaction and close take the write lock, so no command is
+    // half way between "applied" and "queued" while the snapshot is cut
+    private final ReentrantReadWriteLock compactionLock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final AtomicInteger recordsSinceSnapshot = new AtomicInteger();
+    private volatile boolean closed;
+
+    // Append queue, guarded by its own monitor; the writer waits on it
+    private final List<Record> queue = new ArrayList<>();
+    private long lastSequence;
+    private long firstQueuedNanos;
+    private boolean closing;
+
+    // What the writer has made durable, guarded by durableLock; callers wait on it
+    private final Object durableLock = new Object();
+    private long durableSequence;
+    private volatile IOException failure;
+
+    // Serializes writes with truncation and closing
+    private final Object channelLock = new Object();
+
+    public CommandJournal(Path directory, BookingManager bookingManager,
+                          int syncEveryRecords, long syncIntervalMillis, int compactAfterRecords) {
+        if (syncEveryRecords < 1 || compactAfterRecords < 1) {
+            throw new IllegalArgumentException("Sync and compaction thresholds must be positive");
+        }
+        if (syncIntervalMillis < 0) {
+            throw new IllegalArgumentException("Sync interval cannot be negative");
+        }
+        this.bookingManager = bookingManager;
+        this.journalPath = directory.resolve(JOURNAL_FILE);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.syncEveryRecords = syncEveryRecords;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+        this.compactAfterRecords = compactAfterRecords;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        try {
+            Files.createDirectories(directory);
+            this.channel = FileChannel.open(journalPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open command journal in " + directory, e);
+        }
+        this.writer = new Thread(this::writeLoop, "command-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // Loads the latest snapshot and replays the journal on top of it. Call once, before new commands.
+    // Returns the number of journal records replayed.
+    public int recover() {
+        compactionLock.writeLock().lock();
+        try {
+            long covered = loadSnapshot();
+            return replayJournal(covered);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot recover from " + journalPath, e);
+        } finally {
+            compactionLock.writeLock().unlock();
+        }
+    }
+
+    // Runs the command, logs it and returns once the record is durable. Exceptions from the command
+    // are passed on unchanged and nothing is logged; a command the journal cannot encode is refused
+    // with IllegalStateException. If the log cannot be written the command has still been applied:
+    // the caller gets an UncheckedIOException and the journal refuses everything after it.
+    public void execute(Command command) {
+        apply(command, false);
+    }
+
+    public void undo(Command command) {
+        apply(command, true);
+    }
+
+    private void apply(Command command, boolean undo) {
+        byte[] payload = encodeRecord(command, undo);
+        long stripeMask = stripesOf(command);
+        long sequence;
+        compactionLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Command journal is closed");
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Command journal cannot be written", failure);
+            }
+            lockStripes(stripeMask);
+            try {
+                if (undo) {
+                    command.undo();
+                } else {
+                    command.execute();
+                }
+                // still under the tutor's stripe, so the tutor's records queue in the order they applied
+                sequence = enqueue(payload);
+            } finally {
+                unlockStripes(stripeMask);
+            }
+        } finally {
+            compactionLock.readLock().unlock();
+        }
+        awaitDurable(sequence);
+        if (recordsSinceSnapshot.incrementAndGet() >= compactAfterRecords) {
+            compact();
+        }
+    }
+
+    private static byte[] encodeRecord(Command command, boolean undo) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeBoolean(undo);
+            encodeCommand(command, out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot encode " + command.getClass().getSimpleName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // ---- tutor stripes ----
+
+    // Stripes of every tutor the command touches; the name decides, so equal tutors always share one
+    private static long stripesOf(Command command) {
+        if (command instanceof MacroCommand) {
+            long mask = 0;
+            for (Command part : ((MacroCommand) command).getCommands()) {
+                mask |= stripesOf(part);
+            }
+            return mask;
+        }
+        Tutor tutor;
+        if (command instanceof ScheduleLessonCommand) {
+            tutor = ((ScheduleLessonCommand) command).getTutor();
+        } else if (command instanceof CancelLessonCommand) {
+            tutor = ((CancelLessonCommand) command).getTutor();
+        } else {
+            tutor = ((RescheduleLessonCommand) command).getTutor();
+        }
+        int hash = Objects.hashCode(tutor.getName());
+        return 1L << ((hash ^ (hash >>> 16)) & (STRIPES - 1));
+    }
+
+    // Always in ascending order, so macros over several tutors cannot deadlock
+    private void lockStripes(long mask) {
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            stripes[Long.numberOfTrailingZeros(rest)].lock();
+        }
+    }
+
+    private void unlockStripes(long mask) {
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            stripes[Long.numberOfTrailingZeros(rest)].unlock();
+        }
+    }
+
+    // ---- group commit ----
+
+    private long enqueue(byte[] payload) {
+        synchronized (queue) {
+            long sequence = ++lastSequence;
+            if (queue.isEmpty()) {
+                firstQueuedNanos = System.nanoTime();
+                queue.notify();
+            }
+            queue.add(new Record(sequence, payload));
+            if (queue.size() == syncEveryRecords) {
+                queue.notify();
+            }
+            return sequence;
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        boolean interrupted = false;
+        synchronized (durableLock) {
+            // the command has been applied, so give up only when the record can never be written
+            while (durableSequence < sequence && failure == null) {
+                try {
+                    durableLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (durableSequence < sequence) {
+                throw new UncheckedIOException("Cannot append to " + journalPath, failure);
+            }
+        }
+    }
+
+    private void writeLoop() {
+        CRC32 crc = new CRC32();
+        List<Record> batch = new ArrayList<>();
+        while (true) {
+            synchronized (queue) {
+                try {
+                    while (queue.isEmpty() && !closing) {
+                        queue.wait();
+                    }
+                    long wait;
+                    while (queue.size() < syncEveryRecords && !closing
+                            && (wait = firstQueuedNanos + syncIntervalNanos - System.nanoTime()) > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(queue, wait);
+                    }
+                } catch (InterruptedException e) {
+                    // only close() stops the writer, and it asks through closing
+                    continue;
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+                batch.addAll(queue);
+                queue.clear();
+            }
+            long last = batch.get(batch.size() - 1).sequence;
+            try {
+                writeBatch(batch, crc);
+            } catch (IOException e) {
+                synchronized (durableLock) {
+                    failure = e;
+                    durableLock.notifyAll();
+                }
+                return;
+            }
+            batch.clear();
+            synchronized (durableLock) {
+                durableSequence = last;
+                durableLock.notifyAll();
+            }
+        }
+    }
+
+    // One write and one fsync for the whole batch
+    private void writeBatch(List<Record> batch, CRC32 crc) throws IOException {
+        int size = 0;
+        for (Record record : batch) {
+            size += RECORD_HEADER + Long.BYTES + record.payload.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (Record record : batch) {
+            int start = buffer.position();
+            buffer.position(start + RECORD_HEADER);
+            buffer.putLong(record.sequence).put(record.payload);
+            int length = buffer.position() - start - RECORD_HEADER;
+            crc.reset();
+            crc.update(buffer.array(), start + RECORD_HEADER, length);
+            buffer.putInt(start, length).putInt(start + 4, (int) crc.getValue());
+        }
+        buffer.flip();
+        synchronized (channelLock) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    // Writes the current bookings to a snapshot and empties the journal
+    public void compact() {
+        compactionLock.writeLock().lock();
+        try {
+            if (closed || recordsSinceSnapshot.get() == 0) {
+                return;
+            }
+            // no command is in flight, so every applied command has a sequence up to this one
+            long covered;
+            synchronized (queue) {
+                covered = lastSequence;
+            }
+            writeSnapshot(bookingManager.getAllBookings(), covered);
+            // a crash from here on replays nothing the snapshot covers
+            awaitDurable(covered);
+            synchronized (channelLock) {
+                channel.truncate(0);
+                channel.position(0);
+                channel.force(true);
+            }
+            recordsSinceSnapshot.set(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compact " + journalPath, e);
+        } finally {
+            compactionLock.writeLock().unlock();
+        }
+    }
+
+    // Lets queued records reach the disk, then closes the file; later commands are refused
+    @Override
+    public void close() {
+        compactionLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            compactionLock.writeLock().unlock();
+        }
+        synchronized (queue) {
+            closing = true;
+            queue.notify();
+        }
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (channelLock) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close " + journalPath, e);
+            }
+        }
+    }
+
+    // ---- replay ----
+
+    private int replayJournal(long covered) throws IOException {
+        CRC32 crc = new CRC32();
+        int replayed = 0;
+        long last = covered;
+        long position = 0;
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        while (position + RECORD_HEADER <= size) {
+            header.clear();
+            readFully(header, position);
+            int length = header.getInt(0);
+            int checksum = header.getInt(4);
+            if (length < Long.BYTES || position + RECORD_HEADER + length > size) {
+                break;
+            }
+            ByteBuffer record = ByteBuffer.allocate(length);
+            readFully(record, position + RECORD_HEADER);
+            crc.reset();
+            crc.update(record.array(), 0, length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            long sequence = record.getLong(0);
+            if (sequence > covered) {
+                replayRecord(record.array(), sequence);
+                last = Math.max(last, sequence);
+                replayed++;
+            }
+            position += RECORD_HEADER + length;
+        }
+        synchronized (channelLock) {
+            // anything after the last good record is a torn write
+            channel.truncate(position);
+            channel.position(position);
+        }
+        synchronized (queue) {
+            lastSequence = last;
+        }
+        synchronized (durableLock) {
+            durableSequence = last;
+        }
+        recordsSinceSnapshot.set(replayed);
+        return replayed;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + journalPath);
+            }
+        }
+    }
+
+    private void replayRecord(byte[] record, long sequence) throws IOException {
+        DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(record, Long.BYTES, record.length - Long.BYTES));
+        boolean undo = in.readBoolean();
+        if (!restore(decodeCommand(in), undo)) {
+            // only commands that succeeded were logged, in per-tutor order, so this one must apply
+            throw new IOException("Journal record " + sequence + " does not apply to the recovered bookings");
+        }
+    }
+
+    // Applies a logged command straight to the booking store: no observers, metrics or console output
+    private boolean restore(Command command, boolean undo) {
+        if (command instanceof MacroCommand) {
+            List<Command> parts = ((MacroCommand) command).getCommands();
+            for (int i = 0; i < parts.size(); i++) {
+                if (!restore(parts.get(undo ? parts.size() - 1 - i : i), undo)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (command instanceof ScheduleLessonCommand) {
+            ScheduleLessonCommand schedule = (ScheduleLessonCommand) command;
+            return undo
+                    ? bookingManager.restoreCancellation(schedule.getTutor(), schedule.getLesson(), schedule.getTimeSlot())
+                    : bookingManager.restoreBooking(schedule.getTutor(), schedule.getLesson(), schedule.getTimeSlot());
+        }
+        if (command instanceof CancelLessonCommand) {
+            CancelLessonCommand cancel = (CancelLessonCommand) command;
+            return undo
+                    ? bookingManager.restoreBooking(cancel.getTutor(), cancel.getLesson(), cancel.getTimeSlot())
+                    : bookingManager.restoreCancellation(cancel.getTutor(), cancel.getLesson(), cancel.getTimeSlot());
+        }
+        RescheduleLessonCommand reschedule = (RescheduleLessonCommand) command;
+        TimeSlot from = undo ? reschedule.getNewTimeSlot() : reschedule.getOldTimeSlot();
+        TimeSlot to = undo ? reschedule.getOldTimeSlot() : reschedule.getNewTimeSlot();
+        return bookingManager.restoreReschedule(reschedule.getTutor(), reschedule.getLesson(), from, to);
+    }
+
+    // ---- snapshots ----
+
+    private void writeSnapshot(Collection<Booking> allBookings, long covered) throws IOException {
+        // bookings of lessons the journal cannot encode were never journaled either, so they cannot
+        // be recovered; skipping them keeps compaction working
+        List<Booking> bookings = new ArrayList<>(allBookings.size());
+        for (Booking booking : allBookings) {
+            if (isJournalable(booking.getLesson())) {
+                bookings.add(booking);
+            }
+        }
+        Path temp = snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + bookings.size() * 64);
+            DataOutputStream data = new DataOutputStream(bytes);
+            data.writeInt(SNAPSHOT_MAGIC);
+            data.writeLong(covered);
+            data.writeInt(bookings.size());
+            for (Booking booking : bookings) {
+                writeTutor(data, booking.getTutor());
+                writeLesson(data, booking.getLesson());
+                TimeSlot slot = booking.getSlot();
+                data.writeLong(slot.getStartMinute());
+                data.writeLong(slot.getEndMinute());
+                writeNullable(data, slot.getLabel());
+            }
+            data.flush();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Returns the last journal sequence the snapshot covers, 0 without a snapshot
+    private long loadSnapshot() throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a booking snapshot: " + snapshotPath);
+            }
+            long covered = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Tutor tutor = readTutor(in);
+                Lesson lesson = readLesson(in);
+                long start = in.readLong();
+                long end = in.readLong();
+                bookingManager.restoreBooking(tutor, lesson, TimeSlot.of(start, end, readNullable(in)));
+            }
+            return covered;
+        }
+    }
+
+    // ---- command codec ----
+
+    private static void encodeCommand(Command command, DataOutputStream out) throws IOException {
+        if (command instanceof MacroCommand) {
+            MacroCommand macro = (MacroCommand) command;
+            out.writeByte(OP_MACRO);
+            writeNullable(out, macro.getName());
+            out.writeInt(macro.getCommands().size());
+            for (Command part : macro.getCommands()) {
+                encodeCommand(part, out);
+            }
+        } else if (command instanceof ScheduleLessonCommand) {
+            ScheduleLessonCommand schedule = (ScheduleLessonCommand) command;
+            out.writeByte(OP_SCHEDULE);
+            writeTutor(out, schedule.getTutor());
+            writeLesson(out, schedule.getLesson());
+            out.writeUTF(schedule.getTimeSlot().toString());
+        } else if (command instanceof CancelLessonCommand) {
+            CancelLessonCommand cancel = (CancelLessonCommand) command;
+            out.writeByte(OP_CANCEL);
+            writeTutor(out, cancel.getTutor());
+            writeLesson(out, cancel.getLesson());
+            out.writeUTF(cancel.getTimeSlot().toString());
+            writeNullable(out, cancel.getReason());
+        } else if (command instanceof RescheduleLessonCommand) {
+            RescheduleLessonCommand reschedule = (RescheduleLessonCommand) command;
+            out.writeByte(OP_RESCHEDULE);
+            writeTutor(out, reschedule.getTutor());
+            writeLesson(out, reschedule.getLesson());
+            out.writeUTF(reschedule.getOldTimeSlot().toString());
+            out.writeUTF(reschedule.getNewTimeSlot().toString());
+        } else {
+            throw new IllegalStateException("Command cannot be journaled: " + command.getClass().getSimpleName());
+        }
+    }
+
+    private Command decodeCommand(DataInputStream in) throws IOException {
+        byte op = in.readByte();
+        if (op == OP_MACRO) {
+            String name = readNullable(in);
+            int count = in.readInt();
+            List<Command> parts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                parts.add(decodeCommand(in));
+            }
+            return new MacroCommand(bookingManager, name, parts);
+        }
+        Tutor tutor = readTutor(in);
+        Lesson lesson = readLesson(in);
+        switch (op) {
+            case OP_SCHEDULE:
+                return new ScheduleLessonCommand(bookingManager, tutor, lesson, in.readUTF());
+            case OP_CANCEL:
+                return new CancelLessonCommand(bookingManager, tutor, lesson, in.readUTF(), readNullable(in));
+            case OP_RESCHEDULE:
+                return new RescheduleLessonCommand(bookingManager, tutor, lesson, in.readUTF(), in.readUTF());
+            default:
+                throw new IOException("Unknown journal record type " + op);
+        }
+    }
+
+    private static boolean isJournalable(Lesson lesson) {
+        return LessonFactory.findType(baseOf(lesson)) != null;
+    }
+
+    private static Lesson baseOf(Lesson lesson) {
+        return lesson instanceof FeaturedLesson ? ((FeaturedLesson) lesson).getBaseLesson() : lesson;
+    }
+
+    // A factory lesson, or a LessonComposer lesson over one, as "type" or "type#featureMask"
+    private static void writeLesson(DataOutputStream out, Lesson lesson) throws IOException {
+        int features = lesson instanceof FeaturedLesson ? ((FeaturedLesson) lesson).getFeatures() : 0;
+        String type = LessonFactory.findType(baseOf(lesson));
+        if (type == null) {
+            throw new IllegalStateException("Lesson cannot be journaled: " + lesson.getClass().getSimpleName()
+                    + " (only factory lessons and LessonComposer features are)");
+        }
+        out.writeUTF(features == 0 ? type : type + FEATURE_SEPARATOR + features);
+    }
+
+    private static Lesson readLesson(DataInputStream in) throws IOException {
+        String encoded = in.readUTF();
+        int separator = encoded.lastIndexOf(FEATURE_SEPARATOR);
+        if (separator < 0) {
+            return LessonFactory.createLesson(encoded);
+        }
+        try {
+            int features = Integer.parseInt(encoded.substring(separator + 1));
+            return LessonComposer.compose(LessonFactory.createLesson(encoded.substring(0, separator)), features);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Bad lesson in " + JOURNAL_FILE + ": " + encoded, e);
+        }
+    }
+
+    private static void writeTutor(DataOutputStream out, Tutor tutor) throws IOException {
+        writeNullable(out, tutor.getName());
+        writeNullable(out, tutor.getSubject());
+        out.writeInt(tutor.getExperience());
+    }
+
+    private static Tutor readTutor(DataInputStream in) throws IOException {
+        String name = readNullable(in);
+        String subject = readNullable(in);
+        int experience = in.readInt();
+        // bookings made before TutorRegistry.update keep the old record, so the name alone decides
+        Tutor known = name == null ? null : TutorRegistry.getInstance().getByName(name);
+        return known != null ? known : TutorRegistry.getInstance().intern(name, subject, experience);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static final class Record {
+        private final long sequence;
+        private final byte[] payload;
+
+        Record(long sequence, byte[] payload) {
+            this.sequence = sequence;
+            this.payload = payload;
+        }
+    }
+}
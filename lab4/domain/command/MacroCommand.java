@@ -0,0 +1,106 @@
+package lab4.domain.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lab4.domain.booking.BookingManager;
+
+// Composite Command - runs several commands as one atomic, undoable unit
+// If any command is rejected the ones already applied are rolled back, and observers only ever see
+// one batched notification for the whole unit (nothing at all when it is rolled back).
+public class MacroCommand implements Command {
+    private BookingManager bookingManager;
+    private String description;
+    private List<Command> commands;
+
+    public MacroCommand(BookingManager bookingManager, String description, List<Command> commands) {
+        if (commands.isEmpty()) {
+            throw new IllegalArgumentException("Macro command needs at least one command");
+        }
+        this.bookingManager = bookingManager;
+        this.description = description;
+        this.commands = new ArrayList<>(commands);
+    }
+
+    @Override
+    public void execute() {
+        bookingManager.beginBatch();
+        boolean succeeded = false;
+        int applied = 0;
+        try {
+            for (Command command : commands) {
+                command.execute();
+                applied++;
+            }
+            succeeded = true;
+        } catch (RuntimeException e) {
+            try {
+                for (int i = applied - 1; i >= 0; i--) {
+                    commands.get(i).undo();
+                }
+            } catch (RuntimeException rollbackFailure) {
+                rollbackFailure.addSuppressed(e);
+                throw rollbackFailure;
+            }
+            throw rolledBack(description + " rolled back: ", e);
+        } finally {
+            closeBatch(succeeded);
+        }
+    }
+
+    @Override
+    public void undo() {
+        bookingManager.beginBatch();
+        boolean succeeded = false;
+        int undone = 0;
+        try {
+            for (int i = commands.size() - 1; i >= 0; i--) {
+                commands.get(i).undo();
+                undone++;
+            }
+            succeeded = true;
+        } catch (RuntimeException e) {
+            try {
+                for (int i = commands.size() - undone; i < commands.size(); i++) {
+                    commands.get(i).execute();
+                }
+            } catch (RuntimeException rollbackFailure) {
+                rollbackFailure.addSuppressed(e);
+                throw rollbackFailure;
+            }
+            throw rolledBack("Undo of " + description + " rolled back: ", e);
+        } finally {
+            closeBatch(succeeded);
+        }
+    }
+
+    // Runs on every exit path, so a failing rollback cannot leave this thread's notifications held back
+    private void closeBatch(boolean deliver) {
+        if (deliver) {
+            bookingManager.endBatch();
+        } else {
+            bookingManager.discardBatch();
+        }
+    }
+
+    private static RuntimeException rolledBack(String prefix, RuntimeException cause) {
+        if (cause instanceof IllegalStateException) {
+            return new IllegalStateException(prefix + cause.getMessage(), cause);
+        }
+        return cause;
+    }
+
+    @Override
+    public String getDescription() {
+        return description + " (" + commands.size() + " operations)";
+    }
+
+    // Accessors for CommandJournal
+    String getName() {
+        return description;
+    }
+
+    List<Command> getCommands() {
+        return commands;
+    }
+}
@@ -1,7 +1,9 @@
 package lab4.domain.command;
 
 import lab4.domain.booking.BookingManager;
+import lab4.domain.logging.Output;
 import lab4.domain.models.Lesson;
+import lab4.domain.models.TimeSlot;
 import lab4.domain.models.Tutor;
 
 // Concrete Command - Reschedule a lesson
@@ -9,39 +11,56 @@ public class RescheduleLessonCommand implements Command {
     private BookingManager bookingManager;
     private Tutor tutor;
     private Lesson lesson;
-    private String oldTimeSlot;
-    private String newTimeSlot;
+    private TimeSlot oldTimeSlot;
+    private TimeSlot newTimeSlot;
     
     public RescheduleLessonCommand(BookingManager bookingManager, Tutor tutor, Lesson lesson, 
                                    String oldTimeSlot, String newTimeSlot) {
         this.bookingManager = bookingManager;
         this.tutor = tutor;
         this.lesson = lesson;
-        this.oldTimeSlot = oldTimeSlot;
-        this.newTimeSlot = newTimeSlot;
+        this.oldTimeSlot = TimeSlot.parse(oldTimeSlot);
+        this.newTimeSlot = TimeSlot.parse(newTimeSlot);
     }
     
     @Override
     public void execute() {
-        System.out.println("\n[RESCHEDULE] " + lesson.getClass().getSimpleName() + " from " + oldTimeSlot + " to " + newTimeSlot);
+        Output.println("\n[RESCHEDULE] " + lesson.getClass().getSimpleName() + " from " + oldTimeSlot + " to " + newTimeSlot);
         
-        // Notify observers about the change
-        bookingManager.notifyObservers("LESSON_RESCHEDULED",
-            lesson.getClass().getSimpleName() + " with " + tutor.getName() + 
-            " moved from " + oldTimeSlot + " to " + newTimeSlot);
+        // The manager notifies observers about the change
+        if (!bookingManager.rescheduleLesson(tutor, lesson, oldTimeSlot, newTimeSlot)) {
+            throw new IllegalStateException("Cannot move " + tutor.getName() + "'s lesson from " + oldTimeSlot + " to " + newTimeSlot);
+        }
     }
     
     @Override
     public void undo() {
-        System.out.println("\n[UNDO RESCHEDULE] " + lesson.getClass().getSimpleName() + " back to " + oldTimeSlot);
+        Output.println("\n[UNDO RESCHEDULE] " + lesson.getClass().getSimpleName() + " back to " + oldTimeSlot);
         
-        bookingManager.notifyObservers("LESSON_RESCHEDULED",
-            lesson.getClass().getSimpleName() + " with " + tutor.getName() + 
-            " moved back to " + oldTimeSlot);
+        if (!bookingManager.rescheduleLesson(tutor, lesson, newTimeSlot, oldTimeSlot)) {
+            throw new IllegalStateException("Cannot move " + tutor.getName() + "'s lesson back to " + oldTimeSlot);
+        }
     }
     
     @Override
     public String getDescription() {
         return "Reschedule " + lesson.getClass().getSimpleName() + " from " + oldTimeSlot + " to " + newTimeSlot;
     }
+
+    // Accessors for CommandJournal
+    Tutor getTutor() {
+        return tutor;
+    }
+
+    Lesson getLesson() {
+        return lesson;
+    }
+
+    TimeSlot getOldTimeSlot() {
+        return oldTimeSlot;
+    }
+
+    TimeSlot getNewTimeSlot() {
+        return newTimeSlot;
+    }
 }
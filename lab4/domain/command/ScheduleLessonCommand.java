@@ -1,7 +1,9 @@
 package lab4.domain.command;
 
 import lab4.domain.booking.BookingManager;
+import lab4.domain.logging.Output;
 import lab4.domain.models.Lesson;
+import lab4.domain.models.TimeSlot;
 import lab4.domain.models.Tutor;
 
 // Concrete Command - Schedule a lesson
@@ -9,29 +11,46 @@ public class ScheduleLessonCommand implements Command {
     private BookingManager bookingManager;
     private Tutor tutor;
     private Lesson lesson;
-    private String timeSlot;
+    private TimeSlot timeSlot;
     
     public ScheduleLessonCommand(BookingManager bookingManager, Tutor tutor, Lesson lesson, String timeSlot) {
         this.bookingManager = bookingManager;
         this.tutor = tutor;
         this.lesson = lesson;
-        this.timeSlot = timeSlot;
+        this.timeSlot = TimeSlot.parse(timeSlot);
     }
     
     @Override
     public void execute() {
-        System.out.println("\n[SCHEDULE] " + lesson.getClass().getSimpleName() + " with " + tutor.getName() + " at " + timeSlot);
-        bookingManager.bookLesson(tutor, lesson);
+        Output.println("\n[SCHEDULE] " + lesson.getClass().getSimpleName() + " with " + tutor.getName() + " at " + timeSlot);
+        if (!bookingManager.bookLesson(tutor, lesson, timeSlot)) {
+            throw new IllegalStateException(tutor.getName() + " is already booked at " + timeSlot);
+        }
     }
     
     @Override
     public void undo() {
-        System.out.println("\n[CANCEL] " + lesson.getClass().getSimpleName() + " at " + timeSlot);
-        bookingManager.cancelBooking(tutor, lesson);
+        Output.println("\n[CANCEL] " + lesson.getClass().getSimpleName() + " at " + timeSlot);
+        if (!bookingManager.cancelBooking(tutor, lesson, timeSlot)) {
+            throw new IllegalStateException("No booking with " + tutor.getName() + " at " + timeSlot);
+        }
     }
     
     @Override
     public String getDescription() {
         return "Schedule " + lesson.getClass().getSimpleName() + " with " + tutor.getName() + " at " + timeSlot;
     }
+
+    // Accessors for CommandJournal
+    Tutor getTutor() {
+        return tutor;
+    }
+
+    Lesson getLesson() {
+        return lesson;
+    }
+
+    TimeSlot getTimeSlot() {
+        return timeSlot;
+    }
 }
@@ -0,0 +1,54 @@
+package lab4.domain.decorators;
+
+import lab4.domain.logging.Output;
+import lab4.domain.models.Lesson;
+
+// A lesson plus any set of features in one immutable object - behaves exactly like the
+// equivalent decorator stack, without the chain of wrapper objects and virtual calls
+public final class FeaturedLesson implements Lesson {
+    private static final LessonFeature[] FEATURES = LessonFeature.values();
+
+    private final Lesson baseLesson;
+    private final int features;
+    private final String[] intros;  // outermost feature first
+    private final String[] outros;  // innermost feature first
+
+    FeaturedLesson(Lesson baseLesson, int features) {
+        this.baseLesson = baseLesson;
+        this.features = features;
+        int count = Integer.bitCount(features);
+        this.intros = new String[count];
+        this.outros = new String[count];
+        int next = 0;
+        for (LessonFeature feature : FEATURES) {
+            if ((features & feature.bit()) != 0) {
+                outros[next] = feature.getOutro();
+                intros[count - 1 - next] = feature.getIntro();
+                next++;
+            }
+        }
+    }
+
+    @Override
+    public void teach() {
+        for (String intro : intros) {
+            Output.println(intro);
+        }
+        baseLesson.teach();
+        for (String outro : outros) {
+            Output.println(outro);
+        }
+    }
+
+    public Lesson getBaseLesson() {
+        return baseLesson;
+    }
+
+    public boolean has(LessonFeature feature) {
+        return (features & feature.bit()) != 0;
+    }
+
+    public int getFeatures() {
+        return features;
+    }
+}
@@ -0,0 +1,48 @@
+package lab4.domain.decorators;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import lab4.domain.factory.LessonFactory;
+import lab4.domain.models.Lesson;
+
+// Resolves "lesson + features" into one shared FeaturedLesson instead of a decorator stack.
+// Factory lessons are shared flyweights, so one instance per (factory lesson, feature set) is cached
+// and reused for every booking. Any other lesson gets its own FeaturedLesson wrapping exactly it.
+public class LessonComposer {
+    private static final int FEATURE_SETS = 1 << LessonFeature.values().length;
+    private static final ConcurrentHashMap<Class<?>, FeaturedLesson[]> CACHE = new ConcurrentHashMap<>();
+
+    private LessonComposer() {}
+
+    public static Lesson compose(Lesson baseLesson, LessonFeature feature) {
+        return compose(baseLesson, feature.bit());
+    }
+
+    // Allocates the varargs array on every call; hot paths pass a precomputed mask instead
+    public static Lesson compose(Lesson baseLesson, LessonFeature... features) {
+        return compose(baseLesson, LessonFeature.maskOf(features));
+    }
+
+    public static Lesson compose(Lesson baseLesson, int featureMask) {
+        if (featureMask < 0 || featureMask >= FEATURE_SETS) {
+            throw new IllegalArgumentException("Unknown lesson features: " + featureMask);
+        }
+        if (featureMask == 0) {
+            return baseLesson;
+        }
+        if (!LessonFactory.isFlyweight(baseLesson)) {
+            // its identity matters, so it cannot share a cached instance
+            return new FeaturedLesson(baseLesson, featureMask);
+        }
+        FeaturedLesson[] byFeatures = CACHE.computeIfAbsent(baseLesson.getClass(),
+                type -> new FeaturedLesson[FEATURE_SETS]);
+        FeaturedLesson composed = byFeatures[featureMask];
+        if (composed == null || composed.getBaseLesson() != baseLesson) {
+            // missing, or built around a flyweight that registerLesson has since replaced;
+            // a racing thread may build an equal instance - either one is fine
+            composed = new FeaturedLesson(baseLesson, featureMask);
+            byFeatures[featureMask] = composed;
+        }
+        return composed;
+    }
+}
@@ -0,0 +1,40 @@
+package lab4.domain.decorators;
+
+// Add-ons a lesson can be booked with, in wrapping order (PREMIUM innermost).
+// Each feature prints an intro before the lesson and an outro after it.
+public enum LessonFeature {
+    PREMIUM("[Premium Feature] 🌟 Starting one-on-one session with priority support...",
+            "[Premium Feature] ✨ Extended Q&A time included!"),
+    RECORDED("[Recording] 🔴 Recording started...",
+            "[Recording] ✅ Session recorded. Link: https://recordings.tutorsystem.com/session123"),
+    MATERIALS("[Materials] 📚 Providing study materials (notes.pdf, exercises.pdf)...",
+            "[Materials] 📥 Materials available for download in your dashboard!");
+
+    private final String intro;
+    private final String outro;
+
+    LessonFeature(String intro, String outro) {
+        this.intro = intro;
+        this.outro = outro;
+    }
+
+    public String getIntro() {
+        return intro;
+    }
+
+    public String getOutro() {
+        return outro;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static int maskOf(LessonFeature... features) {
+        int mask = 0;
+        for (LessonFeature feature : features) {
+            mask |= feature.bit();
+        }
+        return mask;
+    }
+}
@@ -1,5 +1,7 @@
 package lab4.domain.decorators;
 
+import lab4.domain.logging.Output;
+
 public class MaterialsLessonDecorator extends LessonDecorator {
     public MaterialsLessonDecorator(lab4.domain.models.Lesson lesson) {
         super(lesson);
@@ -7,8 +9,8 @@ public class MaterialsLessonDecorator extends LessonDecorator {
 
     @Override
     public void teach() {
-        System.out.println("[Materials] 📚 Providing study materials (notes.pdf, exercises.pdf)...");
+        Output.println(LessonFeature.MATERIALS.getIntro());
         wrappedLesson.teach();
-        System.out.println("[Materials] 📥 Materials available for download in your dashboard!");
+        Output.println(LessonFeature.MATERIALS.getOutro());
     }
 }
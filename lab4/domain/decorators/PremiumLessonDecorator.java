@@ -1,5 +1,6 @@
 package lab4.domain.decorators;
 
+import lab4.domain.logging.Output;
 import lab4.domain.models.Lesson;
 
 public class PremiumLessonDecorator extends LessonDecorator {
@@ -15,10 +16,10 @@ public class PremiumLessonDecorator extends LessonDecorator {
     }
 
     private void addPremiumIntro() {
-        System.out.println("[Premium Feature] 🌟 Starting one-on-one session with priority support...");
+        Output.println(LessonFeature.PREMIUM.getIntro());
     }
 
     private void addPremiumOutro() {
-        System.out.println("[Premium Feature] ✨ Extended Q&A time included!");
+        Output.println(LessonFeature.PREMIUM.getOutro());
     }
 }
@@ -1,5 +1,6 @@
 package lab4.domain.decorators;
 
+import lab4.domain.logging.Output;
 import lab4.domain.models.Lesson;
 
 public class RecordedLessonDecorator extends LessonDecorator {
@@ -9,8 +10,8 @@ public class RecordedLessonDecorator extends LessonDecorator {
 
     @Override
     public void teach() {
-        System.out.println("[Recording] 🔴 Recording started...");
+        Output.println(LessonFeature.RECORDED.getIntro());
         wrappedLesson.teach();
-        System.out.println("[Recording] ✅ Session recorded. Link: https://recordings.tutorsystem.com/session123");
+        Output.println(LessonFeature.RECORDED.getOutro());
     }
 }
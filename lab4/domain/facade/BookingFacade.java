@@ -1,65 +1,63 @@
 package lab4.domain.facade;
 
 import lab4.domain.booking.BookingManager;
-import lab4.domain.decorators.MaterialsLessonDecorator;
-import lab4.domain.decorators.PremiumLessonDecorator;
-import lab4.domain.decorators.RecordedLessonDecorator;
+import lab4.domain.decorators.LessonComposer;
+import lab4.domain.decorators.LessonFeature;
 import lab4.domain.factory.LessonFactory;
+import lab4.domain.logging.Output;
 import lab4.domain.models.Lesson;
+import lab4.domain.models.TimeSlot;
 import lab4.domain.models.Tutor;
+import lab4.domain.models.TutorRegistry;
 
 public class BookingFacade {
+    // Same behaviour as Premium -> Recorded -> Materials decorators, as one shared flat lesson
+    private static final int COMPLETE_PACKAGE =
+            LessonFeature.maskOf(LessonFeature.PREMIUM, LessonFeature.RECORDED, LessonFeature.MATERIALS);
+
     private BookingManager bookingManager;
+    private TutorRegistry tutors;
     public BookingFacade() {
         this.bookingManager = BookingManager.getInstance();
+        this.tutors = TutorRegistry.getInstance();
     }
 
-    public void quickBook(String lessonType, String tutorName, String subject, int experience) {
-        System.out.println("\n--- Quick Booking via Facade ---");
+    public boolean quickBook(String lessonType, String tutorName, String subject, int experience, String timeSlot) {
+        Output.println("\n--- Quick Booking via Facade ---");
 
-        Tutor tutor = new Tutor.Builder()
-                .setName(tutorName)
-                .setSubject(subject)
-                .setExperience(experience)
-                .build();
+        Tutor tutor = tutors.intern(tutorName, subject, experience);
     
     Lesson lesson = LessonFactory.createLesson(lessonType);
-    bookingManager.bookLesson(tutor, lesson);
-    lesson.teach();
+    return bookAndTeach(tutor, lesson, timeSlot);
 
     }
 
-    public void bookPremiumLesson(String lessonType, String tutorName, String subject, int experience) {
-        System.out.println("\n--- Premium Booking via Facade ---");
+    public boolean bookPremiumLesson(String lessonType, String tutorName, String subject, int experience, String timeSlot) {
+        Output.println("\n--- Premium Booking via Facade ---");
 
-        Tutor tutor = new Tutor.Builder()
-                .setName(tutorName)
-                .setSubject(subject)
-                .setExperience(experience)
-                .build();
+        Tutor tutor = tutors.intern(tutorName, subject, experience);
         
-        Lesson lesson = LessonFactory.createLesson(lessonType);
-        lesson = new PremiumLessonDecorator(lesson);
+        Lesson lesson = LessonComposer.compose(LessonFactory.createLesson(lessonType), LessonFeature.PREMIUM);
 
-        bookingManager.bookLesson(tutor, lesson);
-        lesson.teach();
+        return bookAndTeach(tutor, lesson, timeSlot);
     }
 
-    public void bookCompletePackage(String lessonType, String tutorName, String subject, int experience) {
-        System.out.println("\n--- Complete Package Booking via Facade ---");
+    public boolean bookCompletePackage(String lessonType, String tutorName, String subject, int experience, String timeSlot) {
+        Output.println("\n--- Complete Package Booking via Facade ---");
 
-        Tutor tutor = new Tutor.Builder()
-                .setName(tutorName)
-                .setSubject(subject)
-                .setExperience(experience)
-                .build();
+        Tutor tutor = tutors.intern(tutorName, subject, experience);
         
-        Lesson lesson = LessonFactory.createLesson(lessonType);
-        lesson = new PremiumLessonDecorator(lesson);
-        lesson = new RecordedLessonDecorator(lesson);
-        lesson = new MaterialsLessonDecorator(lesson);
+        Lesson lesson = LessonComposer.compose(LessonFactory.createLesson(lessonType), COMPLETE_PACKAGE);
         
-        bookingManager.bookLesson(tutor, lesson);
+        return bookAndTeach(tutor, lesson, timeSlot);
+    }
+
+    private boolean bookAndTeach(Tutor tutor, Lesson lesson, String timeSlot) {
+        if (!bookingManager.bookLesson(tutor, lesson, TimeSlot.parse(timeSlot))) {
+            Output.println("[WARNING] " + tutor.getName() + " is already booked at " + timeSlot);
+            return false;
+        }
         lesson.teach();
+        return true;
     }
 }
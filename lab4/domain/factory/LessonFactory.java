@@ -1,22 +1,81 @@
 package lab4.domain.factory;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import lab4.domain.models.*;
 
+// Lessons carry no state, so the factory hands out one shared (flyweight) instance per type.
+// Types live in a registry that can be extended at runtime with registerLesson.
 public class LessonFactory {
+    // keys are always lower case
+    private static final Map<String, Lesson> LESSONS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, String> TYPES = new ConcurrentHashMap<>();
+
+    static {
+        registerLesson("math", new MathLesson());
+        registerLesson("programming", new ProgrammingLesson());
+        registerLesson("english", new EnglishLesson());
+    }
+
     public static Lesson createLesson(String type) {
         if (type == null) {
             throw new IllegalArgumentException("Lesson type cannot be null");
         }
 
-        switch (type.toLowerCase()) {
-            case "math":
-                return new MathLesson();
-            case "programming":
-                return new ProgrammingLesson();
-            case "english":
-                return new EnglishLesson();
-            default:
-                throw new IllegalArgumentException("Unknown lesson type: " + type);
+        Lesson lesson = LESSONS.get(type);
+        if (lesson == null) {
+            lesson = findIgnoringCase(type);
+        }
+        if (lesson == null) {
+            throw new IllegalArgumentException("Unknown lesson type: " + type);
+        }
+        return lesson;
+    }
+
+    // Mixed-case input ("Math") - a short scan instead of allocating a lower-cased copy
+    private static Lesson findIgnoringCase(String type) {
+        for (Map.Entry<String, Lesson> entry : LESSONS.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(type)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    // The instance is shared by every booking of this type, so it must not hold per-booking state
+    public static void registerLesson(String type, Lesson lesson) {
+        if (type == null || lesson == null) {
+            throw new IllegalArgumentException("Lesson type and lesson cannot be null");
+        }
+        String key = type.toLowerCase(Locale.ROOT);
+        LESSONS.put(key, lesson);
+        TYPES.put(lesson.getClass(), key);
+    }
+
+    public static Set<String> getRegisteredTypes() {
+        return Collections.unmodifiableSet(LESSONS.keySet());
+    }
+
+    // Reverse of createLesson, used when lessons have to be persisted by type name
+    public static String typeOf(Lesson lesson) {
+        String type = findType(lesson);
+        if (type == null) {
+            throw new IllegalArgumentException("Lesson has no factory type: " + lesson.getClass().getSimpleName());
         }
+        return type;
+    }
+
+    // Whether this is the shared instance createLesson hands out, not just a lesson of the same class
+    public static boolean isFlyweight(Lesson lesson) {
+        String type = TYPES.get(lesson.getClass());
+        return type != null && LESSONS.get(type) == lesson;
+    }
 
+    // Like typeOf, but null for a lesson the factory did not create (e.g. a decorated one)
+    public static String findType(Lesson lesson) {
+        return TYPES.get(lesson.getClass());
     }
 }
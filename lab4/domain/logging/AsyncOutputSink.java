@@ -0,0 +1,119 @@
+package lab4.domain.logging;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Asynchronous appender: println claims a slot in a ring buffer with one atomic increment and
+// returns; a single writer thread drains everything that has accumulated and hands it to the
+// PrintStream as one write, so callers never wait on the stream lock or on console I/O.
+// Lines keep their order. When the ring is full, producers wait for the writer instead of
+// dropping lines.
+// close() sets a flag bit on the claim counter, so every claim is unambiguously before or after
+// it: earlier lines are all written before close() returns, later ones are refused.
+public class AsyncOutputSink implements OutputSink, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long IDLE_PARK_NANOS = 1_000_000;   // writer's poll interval when idle
+    private static final long FULL_PARK_NANOS = 10_000;      // producer's back-off when the ring is full
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final long CLOSED = 1L << 62;              // flag bit on claimed
+
+    private final PrintStream out;
+    private final AtomicReferenceArray<String> ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();  // next sequence a producer gets, plus CLOSED
+    private volatile long written;                       // sequences below this are written and their slots free
+    private final Thread writer;
+    private volatile long end = -1;                      // claimed when closed; the writer stops there
+
+    public AsyncOutputSink() {
+        this(System.out, DEFAULT_CAPACITY);
+    }
+
+    // capacity is rounded up to a power of two
+    public AsyncOutputSink(PrintStream out, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.out = out;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.writer = new Thread(this::drainLoop, "async-output-sink");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void println(String line) {
+        long sequence = claimed.getAndIncrement();
+        if ((sequence & CLOSED) != 0) {
+            throw new IllegalStateException("Output sink is closed");
+        }
+        while (sequence - written > mask) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        ring.set((int) sequence & mask, line == null ? "null" : line);
+    }
+
+    @Override
+    public void flush() {
+        long target = claimed.get();
+        if ((target & CLOSED) != 0) {
+            target = end;
+        }
+        while (written < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        out.flush();
+    }
+
+    // Writes out every line claimed before this call, then stops the writer thread
+    @Override
+    public void close() {
+        long last = claimed.getAndUpdate(sequence -> sequence | CLOSED);
+        if ((last & CLOSED) != 0) {
+            return;
+        }
+        end = last;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        StringBuilder batch = new StringBuilder(4096);
+        long next = 0;
+        while (true) {
+            // a slot is filled after it is claimed, so stop at the first one still empty
+            String line;
+            while ((line = ring.get((int) next & mask)) != null) {
+                batch.append(line).append(LINE_SEPARATOR);
+                ring.set((int) next & mask, null);
+                next++;
+            }
+            if (batch.length() > 0) {
+                out.print(batch);
+                out.flush();
+                written = next;
+                if (batch.capacity() > 1 << 20) {
+                    batch = new StringBuilder(4096);
+                } else {
+                    batch.setLength(0);
+                }
+                continue;
+            }
+            if (next == end) {
+                return;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package lab4.domain.logging;
+
+import java.io.PrintStream;
+
+// Writes straight to a PrintStream on the calling thread - simple, ordered, and blocking
+public class ConsoleOutputSink implements OutputSink {
+    private final PrintStream out;
+
+    public ConsoleOutputSink() {
+        this(System.out);
+    }
+
+    public ConsoleOutputSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void println(String line) {
+        out.println(line);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+}
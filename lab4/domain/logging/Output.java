@@ -0,0 +1,31 @@
+package lab4.domain.logging;
+
+// Process-wide sink used by the domain classes instead of System.out.
+// Defaults to the console; swap in an AsyncOutputSink (or anything else) with setSink.
+public final class Output {
+    private static volatile OutputSink sink = new ConsoleOutputSink();
+
+    private Output() {}
+
+    public static void println(String line) {
+        sink.println(line);
+    }
+
+    public static void println() {
+        sink.println();
+    }
+
+    public static OutputSink getSink() {
+        return sink;
+    }
+
+    // Flushes the previous sink so its lines come out before the new sink's
+    public static void setSink(OutputSink newSink) {
+        if (newSink == null) {
+            throw new IllegalArgumentException("Output sink cannot be null");
+        }
+        OutputSink previous = sink;
+        sink = newSink;
+        previous.flush();
+    }
+}
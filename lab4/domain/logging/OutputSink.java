@@ -0,0 +1,14 @@
+package lab4.domain.logging;
+
+// Where the domain classes write their console lines
+public interface OutputSink {
+
+    void println(String line);
+
+    default void println() {
+        println("");
+    }
+
+    // Returns once every line written so far has reached its destination
+    void flush();
+}
@@ -0,0 +1,199 @@
+package lab4.domain.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import lab4.domain.observer.BookingEventType;
+import lab4.domain.observer.BookingObserver;
+
+// Hot-path metrics of a BookingSubject (see BookingSubject.enableMetrics): a striped counter per
+// event type, a latency histogram for the whole notifyObservers fan-out, and one per observer
+// class for its update calls, which is where slow observers show up.
+// Counters are exact. Reading the clock costs more than a whole observer call on some machines, so
+// latencies are sampled: each delivery is timed with probability 1/sampleInterval.
+// Recording never locks or allocates; per-observer histograms are looked up once, at attach time.
+// Readable through render(), or over JMX after registerMBean().
+public class BookingMetrics implements BookingMetricsMXBean {
+    public static final String DEFAULT_OBJECT_NAME = "lab4.domain:type=BookingMetrics";
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+    private static final BookingEventType[] EVENT_TYPES = BookingEventType.values();
+
+    private final LongAdder[] events = new LongAdder[EVENT_TYPES.length];
+    private final LatencyHistogram fanOut = new LatencyHistogram();
+    private final ConcurrentHashMap<String, LatencyHistogram> observers = new ConcurrentHashMap<>();
+    private final int sampleInterval;
+
+    public BookingMetrics() {
+        this(DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    // 1 times every delivery
+    public BookingMetrics(int sampleInterval) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+        this.sampleInterval = sampleInterval;
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new LongAdder();
+        }
+    }
+
+    public void recordEvent(BookingEventType eventType) {
+        events[eventType.ordinal()].increment();
+    }
+
+    // Whether the caller should time this delivery
+    public boolean sample() {
+        return sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0;
+    }
+
+    @Override
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    public void recordFanOut(long nanos) {
+        fanOut.record(nanos);
+    }
+
+    // Observers of the same class share a histogram
+    public LatencyHistogram observerLatency(BookingObserver observer) {
+        return observers.computeIfAbsent(observerName(observer), name -> new LatencyHistogram());
+    }
+
+    public long getEventCount(BookingEventType eventType) {
+        return events[eventType.ordinal()].sum();
+    }
+
+    public LatencyHistogram getFanOutLatency() {
+        return fanOut;
+    }
+
+    // Sorted by observer class name
+    public Map<String, LatencyHistogram> getObserverLatencies() {
+        return new TreeMap<>(observers);
+    }
+
+    public String render() {
+        StringBuilder text = new StringBuilder("Booking events:\n");
+        for (BookingEventType eventType : EVENT_TYPES) {
+            text.append(String.format("  %-20s %d%n", eventType, getEventCount(eventType)));
+        }
+        text.append("notifyObservers fan-out, 1 in ").append(sampleInterval).append(" timed:\n  ")
+                .append(fanOut).append('\n');
+        text.append("Observer update latency, 1 in ").append(sampleInterval).append(" timed:\n");
+        for (Map.Entry<String, LatencyHistogram> entry : getObserverLatencies().entrySet()) {
+            text.append(String.format("  %-20s %s%n", entry.getKey(), entry.getValue()));
+        }
+        return text.toString();
+    }
+
+    public ObjectName registerMBean() {
+        return registerMBean(DEFAULT_OBJECT_NAME);
+    }
+
+    public ObjectName registerMBean(String objectName) {
+        try {
+            ObjectName name = new ObjectName(objectName);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register booking metrics as " + objectName, e);
+        }
+    }
+
+    public void unregisterMBean(ObjectName name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister booking metrics " + name, e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getEventCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (BookingEventType eventType : EVENT_TYPES) {
+            counts.put(eventType.name(), getEventCount(eventType));
+        }
+        return counts;
+    }
+
+    @Override
+    public long getFanOutCount() {
+        return fanOut.getCount();
+    }
+
+    @Override
+    public double getFanOutP50Micros() {
+        return fanOut.getPercentileNanos(50) / 1_000.0;
+    }
+
+    @Override
+    public double getFanOutP99Micros() {
+        return fanOut.getPercentileNanos(99) / 1_000.0;
+    }
+
+    @Override
+    public double getFanOutMaxMicros() {
+        return fanOut.getMaxNanos() / 1_000.0;
+    }
+
+    @Override
+    public Map<String, Long> getObserverUpdateCounts() {
+        return perObserver(LatencyHistogram::getCount);
+    }
+
+    @Override
+    public Map<String, Double> getObserverP99Micros() {
+        return perObserverMicros(histogram -> histogram.getPercentileNanos(99));
+    }
+
+    @Override
+    public Map<String, Double> getObserverMaxMicros() {
+        return perObserverMicros(LatencyHistogram::getMaxNanos);
+    }
+
+    @Override
+    public String getReport() {
+        return render();
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder counter : events) {
+            counter.reset();
+        }
+        fanOut.reset();
+        for (LatencyHistogram histogram : observers.values()) {
+            histogram.reset();
+        }
+    }
+
+    private Map<String, Long> perObserver(ToLongFunction<LatencyHistogram> value) {
+        Map<String, Long> values = new TreeMap<>();
+        observers.forEach((name, histogram) -> values.put(name, value.applyAsLong(histogram)));
+        return values;
+    }
+
+    private Map<String, Double> perObserverMicros(ToDoubleFunction<LatencyHistogram> nanos) {
+        Map<String, Double> values = new TreeMap<>();
+        observers.forEach((name, histogram) -> values.put(name, nanos.applyAsDouble(histogram) / 1_000));
+        return values;
+    }
+
+    private static String observerName(BookingObserver observer) {
+        String name = observer.getClass().getSimpleName();
+        return name.isEmpty() ? observer.getClass().getName() : name;
+    }
+}
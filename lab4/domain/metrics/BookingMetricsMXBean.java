@@ -0,0 +1,32 @@
+package lab4.domain.metrics;
+
+import java.util.Map;
+
+// JMX view of BookingMetrics (jconsole, VisualVM, or any JMX exporter); latencies in microseconds,
+// observers keyed by class name
+public interface BookingMetricsMXBean {
+    Map<String, Long> getEventCounts();
+
+    int getSampleInterval();
+
+    // Timed (sampled) fan-outs, not all of them; see getEventCounts for totals
+    long getFanOutCount();
+
+    double getFanOutP50Micros();
+
+    double getFanOutP99Micros();
+
+    double getFanOutMaxMicros();
+
+    // Timed (sampled) updates
+    Map<String, Long> getObserverUpdateCounts();
+
+    Map<String, Double> getObserverP99Micros();
+
+    Map<String, Double> getObserverMaxMicros();
+
+    // Same text as BookingMetrics.render()
+    String getReport();
+
+    void reset();
+}
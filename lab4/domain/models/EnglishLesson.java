@@ -1,8 +1,10 @@
 package lab4.domain.models;
 
+import lab4.domain.logging.Output;
+
 public class EnglishLesson implements Lesson {
     @Override
     public void teach() {
-        System.out.println("Teaching English lesson...");
+        Output.println("Teaching English lesson...");
     }
 }
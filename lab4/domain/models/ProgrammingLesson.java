@@ -1,8 +1,10 @@
 package lab4.domain.models;
 
+import lab4.domain.logging.Output;
+
 public class ProgrammingLesson implements Lesson {
     @Override
     public void teach() {
-        System.out.println("Teaching Programming lesson...");
+        Output.println("Teaching Programming lesson...");
     }
 }
@@ -0,0 +1,127 @@
+package lab4.domain.models;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Locale;
+
+// Half-open interval [start, end) measured in minutes since the epoch (UTC)
+public final class TimeSlot {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int DEFAULT_LESSON_MINUTES = 60;
+    // Weekday labels such as "Monday 10AM" are placed in the week starting Monday 1970-01-05
+    private static final long REFERENCE_MONDAY = 4L * MINUTES_PER_DAY;
+
+    private final long startMinute;
+    private final long endMinute;
+    private final String label;
+
+    private TimeSlot(long startMinute, long endMinute, String label) {
+        if (endMinute <= startMinute) {
+            throw new IllegalArgumentException("Time slot must end after it starts");
+        }
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+        this.label = label;
+    }
+
+    public static TimeSlot of(long startMinute, long endMinute) {
+        return new TimeSlot(startMinute, endMinute, null);
+    }
+
+    // label may be null; it is only used for display
+    public static TimeSlot of(long startMinute, long endMinute, String label) {
+        return new TimeSlot(startMinute, endMinute, label);
+    }
+
+    public static TimeSlot of(LocalDateTime start, Duration duration) {
+        long startMinute = start.toEpochSecond(ZoneOffset.UTC) / 60;
+        return new TimeSlot(startMinute, startMinute + duration.toMinutes(), null);
+    }
+
+    // Accepts "Monday 10AM", "Tuesday 3:30PM" (one hour lessons) or a bare "Tuesday" (whole day)
+    public static TimeSlot parse(String label) {
+        if (label == null) {
+            throw new IllegalArgumentException("Time slot cannot be null");
+        }
+        String trimmed = label.trim();
+        int space = trimmed.indexOf(' ');
+        String dayPart = space < 0 ? trimmed : trimmed.substring(0, space);
+        long dayStart = REFERENCE_MONDAY + parseDay(dayPart, label).ordinal() * (long) MINUTES_PER_DAY;
+        if (space < 0) {
+            return new TimeSlot(dayStart, dayStart + MINUTES_PER_DAY, label);
+        }
+        long start = dayStart + parseTimeOfDay(trimmed.substring(space + 1).trim(), label);
+        return new TimeSlot(start, start + DEFAULT_LESSON_MINUTES, label);
+    }
+
+    private static DayOfWeek parseDay(String day, String label) {
+        try {
+            return DayOfWeek.valueOf(day.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown day in time slot: " + label);
+        }
+    }
+
+    private static int parseTimeOfDay(String time, String label) {
+        String upper = time.toUpperCase(Locale.ROOT);
+        boolean pm = upper.endsWith("PM");
+        if (!pm && !upper.endsWith("AM")) {
+            throw new IllegalArgumentException("Time must end with AM or PM: " + label);
+        }
+        String digits = upper.substring(0, upper.length() - 2).trim();
+        int colon = digits.indexOf(':');
+        try {
+            int hour = Integer.parseInt(colon < 0 ? digits : digits.substring(0, colon));
+            int minute = colon < 0 ? 0 : Integer.parseInt(digits.substring(colon + 1));
+            if (hour < 1 || hour > 12 || minute < 0 || minute > 59) {
+                throw new IllegalArgumentException("Invalid time in time slot: " + label);
+            }
+            return ((hour % 12) + (pm ? 12 : 0)) * 60 + minute;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid time in time slot: " + label);
+        }
+    }
+
+    public boolean overlaps(TimeSlot other) {
+        return startMinute < other.endMinute && other.startMinute < endMinute;
+    }
+
+    public long getStartMinute() {
+        return startMinute;
+    }
+
+    public long getEndMinute() {
+        return endMinute;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimeSlot)) {
+            return false;
+        }
+        TimeSlot other = (TimeSlot) o;
+        return startMinute == other.startMinute && endMinute == other.endMinute;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(startMinute) * 31 + Long.hashCode(endMinute);
+    }
+
+    @Override
+    public String toString() {
+        if (label != null) {
+            return label;
+        }
+        return LocalDateTime.ofEpochSecond(startMinute * 60, 0, ZoneOffset.UTC) + " (" + (endMinute - startMinute) + " min)";
+    }
+}
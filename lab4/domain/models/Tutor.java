@@ -1,11 +1,16 @@
 package lab4.domain.models;
 
 public class Tutor {
+    // id of tutors that were built directly instead of through TutorRegistry
+    public static final int UNREGISTERED = -1;
+
+    private final int id;
     private final String name;
     private final String subject;
     private final int experience;
 
     private Tutor(Builder builder) {
+        this.id = builder.id;
         this.name = builder.name;
         this.subject = builder.subject;
         this.experience = builder.experience;
@@ -15,6 +20,13 @@ public class Tutor {
         private String name;
         private String subject;
         private int experience;
+        private int id = UNREGISTERED;
+
+        // Only TutorRegistry hands out ids
+        Builder setId(int id) {
+            this.id = id;
+            return this;
+        }
 
         public Builder setName(String name) {
             this.name = name;
@@ -41,6 +53,10 @@ public class Tutor {
         return name + " who teaches " + subject + " (" + experience + " years)";
     }
 
+    public int getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
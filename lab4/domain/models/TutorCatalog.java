@@ -0,0 +1,114 @@
+package lab4.domain.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Searchable index of registered tutors: a hash index on subject (case-insensitive) and, per subject
+// and across all tutors, a skip list sorted by experience. Keys pack experience into the high
+// 32 bits and the tutor id into the low ones, so equal experience still gives distinct keys and
+// an experience range is one subMap. Queries are O(log n + results) and never block writers.
+public class TutorCatalog {
+    private final ConcurrentHashMap<String, ConcurrentSkipListMap<Long, Tutor>> bySubject = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Tutor> byExperience = new ConcurrentSkipListMap<>();
+
+    // Only registered tutors can be indexed - the id is part of the key
+    public void add(Tutor tutor) {
+        long key = keyOf(tutor);
+        byExperience.put(key, tutor);
+        if (tutor.getSubject() != null) {
+            bySubject.computeIfAbsent(subjectKey(tutor.getSubject()), subject -> new ConcurrentSkipListMap<>())
+                    .put(key, tutor);
+        }
+    }
+
+    public boolean remove(Tutor tutor) {
+        long key = keyOf(tutor);
+        if (byExperience.remove(key) == null) {
+            return false;
+        }
+        if (tutor.getSubject() != null) {
+            NavigableMap<Long, Tutor> subject = bySubject.get(subjectKey(tutor.getSubject()));
+            if (subject != null) {
+                subject.remove(key);
+            }
+        }
+        return true;
+    }
+
+    // Tutors of the subject, least experienced first
+    public List<Tutor> findBySubject(String subject) {
+        NavigableMap<Long, Tutor> tutors = subjectIndex(subject);
+        return tutors == null ? Collections.emptyList() : new ArrayList<>(tutors.values());
+    }
+
+    // Tutors with minExperience..maxExperience years (inclusive), least experienced first
+    public List<Tutor> findByExperience(int minExperience, int maxExperience) {
+        return range(byExperience, minExperience, maxExperience);
+    }
+
+    // e.g. all math tutors with 10+ years: find("Math", 10, Integer.MAX_VALUE)
+    public List<Tutor> find(String subject, int minExperience, int maxExperience) {
+        NavigableMap<Long, Tutor> tutors = subjectIndex(subject);
+        return tutors == null ? Collections.emptyList() : range(tutors, minExperience, maxExperience);
+    }
+
+    // The k most experienced tutors, most experienced first
+    public List<Tutor> topByExperience(int k) {
+        return top(byExperience, k);
+    }
+
+    public List<Tutor> topByExperience(String subject, int k) {
+        NavigableMap<Long, Tutor> tutors = subjectIndex(subject);
+        return tutors == null ? Collections.emptyList() : top(tutors, k);
+    }
+
+    public int size() {
+        return byExperience.size();
+    }
+
+    private NavigableMap<Long, Tutor> subjectIndex(String subject) {
+        if (subject == null) {
+            throw new IllegalArgumentException("Subject cannot be null");
+        }
+        return bySubject.get(subjectKey(subject));
+    }
+
+    private static List<Tutor> range(NavigableMap<Long, Tutor> index, int minExperience, int maxExperience) {
+        if (minExperience > maxExperience) {
+            return Collections.emptyList();
+        }
+        long from = (long) minExperience << 32;
+        long to = ((long) maxExperience << 32) | 0xFFFFFFFFL;
+        return new ArrayList<>(index.subMap(from, true, to, true).values());
+    }
+
+    private static List<Tutor> top(NavigableMap<Long, Tutor> index, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative");
+        }
+        List<Tutor> result = new ArrayList<>(Math.min(k, 64));
+        for (Tutor tutor : index.descendingMap().values()) {
+            if (result.size() == k) {
+                break;
+            }
+            result.add(tutor);
+        }
+        return result;
+    }
+
+    private static long keyOf(Tutor tutor) {
+        if (tutor.getId() == Tutor.UNREGISTERED) {
+            throw new IllegalArgumentException("Tutor is not registered: " + tutor.getName());
+        }
+        return ((long) tutor.getExperience() << 32) | (tutor.getId() & 0xFFFFFFFFL);
+    }
+
+    private static String subjectKey(String subject) {
+        return subject.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,136 @@
+package lab4.domain.models;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Canonical tutor records: every tutor is registered once, gets a compact integer id
+// (0, 1, 2, ...) and from then on the same Tutor instance is returned for it.
+// A tutor is identified by name. Interning a known name with a different subject or experience is
+// refused, so two different tutors can never share one record (and one schedule); update() is how a
+// record changes. Every registered tutor is searchable through the catalog.
+public class TutorRegistry {
+    private final ConcurrentHashMap<String, Tutor> byName = new ConcurrentHashMap<>();
+    private final TutorCatalog catalog = new TutorCatalog();
+    private volatile Tutor[] byId = new Tutor[64];
+    private int nextId;
+
+    private TutorRegistry() {}
+
+    // Lazily created on first use, like BookingManager
+    private static final class Holder {
+        private static final TutorRegistry INSTANCE = new TutorRegistry();
+    }
+
+    public static TutorRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    // Returns the canonical tutor with this name, registering it on first sight.
+    // IllegalArgumentException when the name is registered with another subject or experience.
+    public Tutor intern(String name, String subject, int experience) {
+        if (name == null) {
+            throw new IllegalArgumentException("Tutor name cannot be null");
+        }
+        Tutor existing = byName.get(name);
+        return existing != null ? checkSame(existing, subject, experience) : register(name, subject, experience);
+    }
+
+    // Canonical instance for a tutor that may have been built directly with Tutor.Builder
+    public Tutor intern(Tutor tutor) {
+        if (tutor.getId() != Tutor.UNREGISTERED) {
+            return tutor;
+        }
+        return intern(tutor.getName(), tutor.getSubject(), tutor.getExperience());
+    }
+
+    // Canonical instance if the tutor is registered, null otherwise (also for a different tutor with
+    // the same name) - never registers anything
+    public Tutor find(Tutor tutor) {
+        if (tutor.getId() != Tutor.UNREGISTERED) {
+            return tutor;
+        }
+        Tutor existing = tutor.getName() == null ? null : byName.get(tutor.getName());
+        return existing != null && isSame(existing, tutor.getSubject(), tutor.getExperience()) ? existing : null;
+    }
+
+    private synchronized Tutor register(String name, String subject, int experience) {
+        Tutor existing = byName.get(name);
+        if (existing != null) {
+            return checkSame(existing, subject, experience);
+        }
+        int id = nextId++;
+        Tutor tutor = build(id, name, subject, experience);
+        Tutor[] ids = byId;
+        if (id == ids.length) {
+            Tutor[] grown = new Tutor[ids.length * 2];
+            System.arraycopy(ids, 0, grown, 0, ids.length);
+            ids = grown;
+        }
+        ids[id] = tutor;
+        byId = ids;
+        catalog.add(tutor);
+        byName.put(name, tutor);
+        return tutor;
+    }
+
+    // Replaces a registered tutor's record, keeping its id; bookings made earlier keep the old instance
+    public synchronized Tutor update(String name, String subject, int experience) {
+        Tutor previous = byName.get(name);
+        if (previous == null) {
+            throw new IllegalArgumentException("Unknown tutor: " + name);
+        }
+        Tutor tutor = build(previous.getId(), name, subject, experience);
+        Tutor[] ids = byId;
+        ids[tutor.getId()] = tutor;
+        byId = ids;
+        catalog.remove(previous);
+        catalog.add(tutor);
+        byName.put(name, tutor);
+        return tutor;
+    }
+
+    private static Tutor checkSame(Tutor existing, String subject, int experience) {
+        if (!isSame(existing, subject, experience)) {
+            throw new IllegalArgumentException("Tutor " + existing.getName() + " is already registered as "
+                    + existing + ", not as " + subject + " (" + experience + " years)");
+        }
+        return existing;
+    }
+
+    private static boolean isSame(Tutor tutor, String subject, int experience) {
+        return Objects.equals(tutor.getSubject(), subject) && tutor.getExperience() == experience;
+    }
+
+    private static Tutor build(int id, String name, String subject, int experience) {
+        return new Tutor.Builder()
+                .setId(id)
+                .setName(name)
+                .setSubject(subject)
+                .setExperience(experience)
+                .build();
+    }
+
+    // null when no tutor has this id
+    public Tutor getById(int id) {
+        Tutor[] ids = byId;
+        return id >= 0 && id < ids.length ? ids[id] : null;
+    }
+
+    // null when no tutor has this name
+    public Tutor getByName(String name) {
+        return byName.get(name);
+    }
+
+    public List<Tutor> getBySubject(String subject) {
+        return catalog.findBySubject(subject);
+    }
+
+    public TutorCatalog getCatalog() {
+        return catalog;
+    }
+
+    public int size() {
+        return byName.size();
+    }
+}
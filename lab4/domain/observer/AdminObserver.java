@@ -1,29 +1,55 @@
 package lab4.domain.observer;
 
+import java.util.concurrent.atomic.LongAdder;
+
+import lab4.domain.logging.Output;
+
 // Concrete Observer - Admin monitors all system events
+// Keeps a count per event type; the counters are striped so concurrent bookings don't contend on them
 public class AdminObserver implements BookingObserver {
-    
+    private final LongAdder[] counts = new LongAdder[BookingEventType.values().length];
+
+    public AdminObserver() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
     @Override
-    public void update(String eventType, String message) {
-        System.out.print("   [Admin] ");
-        
+    public void update(BookingEvent event) {
+        String action;
+
         // Admin-specific tracking
-        switch (eventType) {
-            case "BOOKING_CONFIRMED":
-                System.out.println("Analytics updated (booking count++)");
+        switch (event.getType()) {
+            case BOOKING_CONFIRMED:
+                action = "Analytics updated (booking count++)";
                 break;
-            case "LESSON_STARTING":
-                System.out.println("Analytics updated (lesson started)");
+            case LESSON_STARTING:
+                action = "Analytics updated (lesson started)";
                 break;
-            case "LESSON_COMPLETED":
-                System.out.println("Analytics updated (success rate++)");
+            case LESSON_COMPLETED:
+                action = "Analytics updated (success rate++)";
                 break;
-            case "BOOKING_CANCELLED":
-                System.out.println("Analytics updated (cancellation tracked)");
+            case BOOKING_CANCELLED:
+                action = "Analytics updated (cancellation tracked)";
                 break;
-            case "LESSON_RESCHEDULED":
-                System.out.println("Analytics updated (reschedule tracked)");
+            case LESSON_RESCHEDULED:
+                action = "Analytics updated (reschedule tracked)";
                 break;
+            default:
+                return;
         }
+        counts[event.getType().ordinal()].increment();
+        Output.println("   [Admin] " + action);
+    }
+
+    public long getCount(BookingEventType eventType) {
+        return counts[eventType.ordinal()].sum();
+    }
+
+    // Completed lessons per confirmed booking
+    public double getSuccessRate() {
+        long booked = getCount(BookingEventType.BOOKING_CONFIRMED);
+        return booked == 0 ? 0 : (double) getCount(BookingEventType.LESSON_COMPLETED) / booked;
     }
 }
@@ -0,0 +1,150 @@
+package lab4.domain.observer;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Delivers events to one observer on its own consumer thread through a bounded queue,
+// so a slow observer no longer adds its latency to the booking thread
+class AsyncObserverChannel implements BookingObserver {
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+    private final BookingObserver observer;
+    private final int capacity;
+    private final BackpressurePolicy policy;
+    private final ArrayDeque<PendingEvent> queue;
+    private final Thread consumer;
+    private boolean closed;
+    private long droppedEvents;
+
+    AsyncObserverChannel(BookingObserver observer, int capacity, BackpressurePolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.observer = observer;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.queue = new ArrayDeque<>(capacity);
+        this.consumer = new Thread(this::consume, "booking-observer-" + THREAD_IDS.incrementAndGet());
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    @Override
+    public void update(BookingEvent event) {
+        enqueue(new PendingEvent(event, null));
+    }
+
+    // A batch takes a single queue slot and reaches the observer as a single updateBatch call
+    @Override
+    public void updateBatch(List<BookingEvent> events) {
+        enqueue(new PendingEvent(null, events));
+    }
+
+    private void enqueue(PendingEvent incoming) {
+        synchronized (queue) {
+            if (closed) {
+                return;
+            }
+            if (queue.size() >= capacity && !makeRoom(incoming)) {
+                return;
+            }
+            queue.addLast(incoming);
+            queue.notifyAll();
+        }
+    }
+
+    // Returns false when the event was absorbed by coalescing and must not be enqueued
+    private boolean makeRoom(PendingEvent incoming) {
+        switch (policy) {
+            case BLOCK:
+                while (queue.size() >= capacity && !closed) {
+                    try {
+                        queue.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        droppedEvents++;
+                        return false;
+                    }
+                }
+                return !closed;
+            case COALESCE:
+                Iterator<PendingEvent> pending = queue.iterator();
+                while (pending.hasNext()) {
+                    PendingEvent candidate = pending.next();
+                    if (incoming.event != null && candidate.event != null
+                            && candidate.event.getType() == incoming.event.getType()) {
+                        candidate.event = incoming.event;
+                        droppedEvents++;
+                        return false;
+                    }
+                }
+                // no event of this type is pending - drop the oldest instead
+                dropOldest();
+                return true;
+            case DROP_OLDEST:
+            default:
+                dropOldest();
+                return true;
+        }
+    }
+
+    private void dropOldest() {
+        queue.pollFirst();
+        droppedEvents++;
+    }
+
+    private void consume() {
+        while (true) {
+            PendingEvent next;
+            synchronized (queue) {
+                while (queue.isEmpty() && !closed) {
+                    try {
+                        queue.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                next = queue.pollFirst();
+                if (next == null) {
+                    return;
+                }
+                queue.notifyAll();
+            }
+            try {
+                if (next.batch != null) {
+                    observer.updateBatch(next.batch);
+                } else {
+                    observer.update(next.event);
+                }
+            } catch (RuntimeException e) {
+                // a failing observer must not kill its consumer thread
+            }
+        }
+    }
+
+    // Stops accepting events; the consumer finishes what is already queued and exits
+    void close() {
+        synchronized (queue) {
+            closed = true;
+            queue.notifyAll();
+        }
+    }
+
+    long getDroppedEvents() {
+        synchronized (queue) {
+            return droppedEvents;
+        }
+    }
+
+    private static final class PendingEvent {
+        private BookingEvent event;
+        private final List<BookingEvent> batch;
+
+        PendingEvent(BookingEvent event, List<BookingEvent> batch) {
+            this.event = event;
+            this.batch = batch;
+        }
+    }
+}
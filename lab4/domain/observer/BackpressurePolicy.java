@@ -0,0 +1,8 @@
+package lab4.domain.observer;
+
+// What an asynchronous observer queue does when it is full
+public enum BackpressurePolicy {
+    BLOCK,        // the notifying thread waits until the observer catches up
+    DROP_OLDEST,  // the oldest pending event is discarded to make room
+    COALESCE      // a pending event of the same type is replaced, otherwise the oldest is dropped
+}
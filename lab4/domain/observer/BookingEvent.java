@@ -0,0 +1,89 @@
+package lab4.domain.observer;
+
+import lab4.domain.models.Lesson;
+import lab4.domain.models.TimeSlot;
+import lab4.domain.models.Tutor;
+
+// Immutable event passed to observers - the human readable message is only built when someone asks for it
+public final class BookingEvent {
+    private final BookingEventType type;
+    private final Tutor tutor;
+    private final Lesson lesson;
+    private final TimeSlot slot;
+    private final TimeSlot previousSlot;
+    private String message;
+
+    private BookingEvent(BookingEventType type, Tutor tutor, Lesson lesson, TimeSlot slot, TimeSlot previousSlot) {
+        this.type = type;
+        this.tutor = tutor;
+        this.lesson = lesson;
+        this.slot = slot;
+        this.previousSlot = previousSlot;
+    }
+
+    public static BookingEvent of(BookingEventType type, Tutor tutor, Lesson lesson) {
+        return new BookingEvent(type, tutor, lesson, null, null);
+    }
+
+    public static BookingEvent of(BookingEventType type, Tutor tutor, Lesson lesson, TimeSlot slot) {
+        return new BookingEvent(type, tutor, lesson, slot, null);
+    }
+
+    public static BookingEvent rescheduled(Tutor tutor, Lesson lesson, TimeSlot fromSlot, TimeSlot toSlot) {
+        return new BookingEvent(BookingEventType.LESSON_RESCHEDULED, tutor, lesson, toSlot, fromSlot);
+    }
+
+    public BookingEventType getType() {
+        return type;
+    }
+
+    public Tutor getTutor() {
+        return tutor;
+    }
+
+    public Lesson getLesson() {
+        return lesson;
+    }
+
+    // The slot the event is about (for a reschedule: the new slot); null when not slot specific
+    public TimeSlot getSlot() {
+        return slot;
+    }
+
+    // Only set for reschedules
+    public TimeSlot getPreviousSlot() {
+        return previousSlot;
+    }
+
+    public String getMessage() {
+        String rendered = message;
+        if (rendered == null) {
+            rendered = render();
+            message = rendered;
+        }
+        return rendered;
+    }
+
+    private String render() {
+        String lessonName = lesson.getClass().getSimpleName();
+        switch (type) {
+            case BOOKING_CONFIRMED:
+                return lessonName + " booked with " + tutor.getName() + (slot != null ? " at " + slot : "");
+            case LESSON_STARTING:
+                return "Lesson with " + tutor.getName() + " is starting now!";
+            case LESSON_COMPLETED:
+                return "Lesson with " + tutor.getName() + " completed successfully!";
+            case BOOKING_CANCELLED:
+                return lessonName + " with " + tutor.getName() + (slot != null ? " at " + slot : "") + " has been cancelled.";
+            case LESSON_RESCHEDULED:
+                return lessonName + " with " + tutor.getName() + " moved from " + previousSlot + " to " + slot;
+            default:
+                return type.name();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return type + ": " + getMessage();
+    }
+}
@@ -0,0 +1,10 @@
+package lab4.domain.observer;
+
+// All booking events observers can subscribe to
+public enum BookingEventType {
+    BOOKING_CONFIRMED,
+    LESSON_STARTING,
+    LESSON_COMPLETED,
+    BOOKING_CANCELLED,
+    LESSON_RESCHEDULED
+}
@@ -1,6 +1,15 @@
 package lab4.domain.observer;
 
+import java.util.List;
+
 // Observer interface - all observers must implement this
 public interface BookingObserver {
-    void update(String eventType, String message);
+    void update(BookingEvent event);
+
+    // Called once for all events of a batch (see BookingSubject.beginBatch); override to handle them together
+    default void updateBatch(List<BookingEvent> events) {
+        for (BookingEvent event : events) {
+            update(event);
+        }
+    }
 }
@@ -1,25 +1,370 @@
 package lab4.domain.observer;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lab4.domain.metrics.BookingMetrics;
 
 // Subject interface - maintains observers and notifies them
+// Observers live in copy-on-write arrays, one per event type: notify iterates a stable snapshot
+// without locking. attach/detach only drop the snapshots; the next notify rebuilds them under the
+// lock and publishes them through a volatile write, so wiring up observers at startup costs one
+// rebuild rather than one per attach. Observers only sit in the arrays of the event types they subscribed to.
+// In async mode every observer is fronted by its own bounded queue and consumer thread.
+// Between beginBatch and endBatch the events raised by the current thread are held back and then
+// handed to each observer in one updateBatch call, so bulk operations cost one notification per observer.
+// With metrics enabled every event is counted, and the fan-out and each observer's updates are timed.
 public class BookingSubject {
-    private List<BookingObserver> observers = new ArrayList<>();
-    
+    private static final BookingEventType[] EVENT_TYPES = BookingEventType.values();
+    private static final BookingObserver[] NO_OBSERVERS = new BookingObserver[0];
+    private static final BatchTarget[] NO_BATCH_TARGETS = new BatchTarget[0];
+
+    private final Object registryLock = new Object();
+    private final Map<BookingObserver, Subscription> members = new IdentityHashMap<>();
+    private final List<BookingObserver> attachOrder = new ArrayList<>();
+    // indexed by BookingEventType.ordinal(); null until rebuilt after a registry change
+    private volatile BookingObserver[][] snapshots = emptySnapshots();
+    // every observer once, in attach order, for batch delivery; dropped together with snapshots
+    private volatile BatchTarget[] batchTargets = NO_BATCH_TARGETS;
+    private final ThreadLocal<Batch> openBatch = new ThreadLocal<>();
+
+    private int asyncQueueCapacity;
+    private BackpressurePolicy backpressurePolicy;
+    private volatile BookingMetrics metrics;
+
     public void attach(BookingObserver observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
+        attach(observer, EnumSet.allOf(BookingEventType.class));
+    }
+
+    public void attach(BookingObserver observer, Set<BookingEventType> eventTypes) {
+        synchronized (registryLock) {
+            if (members.containsKey(observer)) {
+                return;
+            }
+            EnumSet<BookingEventType> subscribed = eventTypes.isEmpty()
+                    ? EnumSet.noneOf(BookingEventType.class) : EnumSet.copyOf(eventTypes);
+            members.put(observer, new Subscription(deliveryTarget(observer), subscribed));
+            attachOrder.add(observer);
+            invalidateSnapshots();
         }
     }
-    
+
     public void detach(BookingObserver observer) {
-        observers.remove(observer);
+        synchronized (registryLock) {
+            Subscription subscription = members.remove(observer);
+            if (subscription == null) {
+                return;
+            }
+            attachOrder.removeIf(existing -> existing == observer);
+            invalidateSnapshots();
+            closeIfAsync(subscription.target);
+        }
     }
-    
-    public void notifyObservers(String eventType, String message) {
+
+    public void notifyObservers(BookingEvent event) {
+        BookingMetrics recorder = metrics;
+        if (recorder != null) {
+            recorder.recordEvent(event.getType());
+        }
+        Batch batch = openBatch.get();
+        if (batch != null) {
+            batch.events.add(event);
+            return;
+        }
+        BookingObserver[] observers = snapshots()[event.getType().ordinal()];
+        if (recorder == null || !recorder.sample()) {
+            for (BookingObserver observer : observers) {
+                observer.update(event);
+            }
+            return;
+        }
+        long start = System.nanoTime();
         for (BookingObserver observer : observers) {
-            observer.update(eventType, message);
+            observer.update(event);
+        }
+        recorder.recordFanOut(System.nanoTime() - start);
+    }
+
+    // Starts holding back this thread's events; batches nest and only the outermost one delivers
+    public void beginBatch() {
+        Batch batch = openBatch.get();
+        if (batch == null) {
+            batch = new Batch();
+            openBatch.set(batch);
+        }
+        batch.marks.add(batch.events.size());
+    }
+
+    // Closes the innermost batch; closing the outermost one delivers everything collected
+    public void endBatch() {
+        Batch batch = closeBatch();
+        if (batch != null) {
+            deliverBatch(batch.events);
+        }
+    }
+
+    // Closes the innermost batch and forgets the events raised since it began (e.g. after a rollback)
+    public void discardBatch() {
+        Batch batch = openBatch.get();
+        if (batch == null) {
+            throw new IllegalStateException("No batch is open on this thread");
+        }
+        int mark = batch.marks.get(batch.marks.size() - 1);
+        batch.events.subList(mark, batch.events.size()).clear();
+        Batch finished = closeBatch();
+        if (finished != null) {
+            deliverBatch(finished.events);
+        }
+    }
+
+    // Returns the batch when the outermost level was closed, null while still nested
+    private Batch closeBatch() {
+        Batch batch = openBatch.get();
+        if (batch == null) {
+            throw new IllegalStateException("No batch is open on this thread");
+        }
+        batch.marks.remove(batch.marks.size() - 1);
+        if (!batch.marks.isEmpty()) {
+            return null;
+        }
+        openBatch.remove();
+        return batch;
+    }
+
+    private void deliverBatch(List<BookingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<BookingEvent> allEvents = Collections.unmodifiableList(events);
+        for (BatchTarget target : batchTargets()) {
+            if (target.allTypes) {
+                target.observer.updateBatch(allEvents);
+                continue;
+            }
+            List<BookingEvent> subscribed = new ArrayList<>();
+            for (BookingEvent event : events) {
+                if (target.eventTypes.contains(event.getType())) {
+                    subscribed.add(event);
+                }
+            }
+            if (!subscribed.isEmpty()) {
+                target.observer.updateBatch(Collections.unmodifiableList(subscribed));
+            }
+        }
+    }
+
+    public boolean hasObservers(BookingEventType eventType) {
+        return snapshots()[eventType.ordinal()].length > 0;
+    }
+
+    // Lets publishers skip building an event nobody is listening for; with metrics enabled every
+    // event is wanted, since it still has to be counted
+    public boolean wantsEvent(BookingEventType eventType) {
+        return metrics != null || hasObservers(eventType);
+    }
+
+    // Switches to asynchronous delivery: notifyObservers returns as soon as the event is enqueued
+    public void enableAsyncDispatch(int queueCapacity, BackpressurePolicy policy) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        synchronized (registryLock) {
+            disableAsyncDispatch();
+            asyncQueueCapacity = queueCapacity;
+            backpressurePolicy = policy;
+            for (Map.Entry<BookingObserver, Subscription> entry : members.entrySet()) {
+                entry.getValue().target = deliveryTarget(entry.getKey());
+            }
+            invalidateSnapshots();
+        }
+    }
+
+    // Back to synchronous delivery; events already queued are still delivered by their consumers
+    public void disableAsyncDispatch() {
+        synchronized (registryLock) {
+            if (asyncQueueCapacity == 0) {
+                return;
+            }
+            asyncQueueCapacity = 0;
+            backpressurePolicy = null;
+            for (Map.Entry<BookingObserver, Subscription> entry : members.entrySet()) {
+                closeIfAsync(entry.getValue().target);
+                entry.getValue().target = deliveryTarget(entry.getKey());
+            }
+            invalidateSnapshots();
+        }
+    }
+
+    // Starts counting events and timing deliveries into the given metrics
+    public void enableMetrics(BookingMetrics bookingMetrics) {
+        if (bookingMetrics == null) {
+            throw new IllegalArgumentException("Metrics cannot be null");
+        }
+        synchronized (registryLock) {
+            metrics = bookingMetrics;
+            replaceDeliveryTargets();
+        }
+    }
+
+    public void disableMetrics() {
+        synchronized (registryLock) {
+            if (metrics == null) {
+                return;
+            }
+            metrics = null;
+            replaceDeliveryTargets();
+        }
+    }
+
+    // null while metrics are disabled
+    public BookingMetrics getMetrics() {
+        return metrics;
+    }
+
+    public boolean isAsyncDispatch() {
+        synchronized (registryLock) {
+            return asyncQueueCapacity > 0;
+        }
+    }
+
+    public long getDroppedEvents(BookingObserver observer) {
+        synchronized (registryLock) {
+            Subscription subscription = members.get(observer);
+            return subscription != null && subscription.target instanceof AsyncObserverChannel
+                    ? ((AsyncObserverChannel) subscription.target).getDroppedEvents() : 0;
+        }
+    }
+
+    public int getObserverCount() {
+        synchronized (registryLock) {
+            return members.size();
+        }
+    }
+
+    private BookingObserver deliveryTarget(BookingObserver observer) {
+        BookingObserver target = metrics == null
+                ? observer : new TimedObserver(observer, metrics, metrics.observerLatency(observer));
+        if (asyncQueueCapacity == 0) {
+            return target;
+        }
+        return new AsyncObserverChannel(target, asyncQueueCapacity, backpressurePolicy);
+    }
+
+    // Called with registryLock held; old async channels still deliver what they have queued
+    private void replaceDeliveryTargets() {
+        List<BookingObserver> previous = new ArrayList<>(members.size());
+        for (Map.Entry<BookingObserver, Subscription> entry : members.entrySet()) {
+            previous.add(entry.getValue().target);
+            entry.getValue().target = deliveryTarget(entry.getKey());
+        }
+        invalidateSnapshots();
+        for (BookingObserver target : previous) {
+            closeIfAsync(target);
+        }
+    }
+
+    private BookingObserver[][] snapshots() {
+        BookingObserver[][] current = snapshots;
+        if (current != null) {
+            return current;
+        }
+        synchronized (registryLock) {
+            rebuildSnapshots();
+            return snapshots;
+        }
+    }
+
+    private BatchTarget[] batchTargets() {
+        BatchTarget[] current = batchTargets;
+        if (current != null) {
+            return current;
+        }
+        synchronized (registryLock) {
+            rebuildSnapshots();
+            return batchTargets;
+        }
+    }
+
+    // Called with registryLock held; notifiers still iterating the old arrays finish with them
+    private void invalidateSnapshots() {
+        snapshots = null;
+        batchTargets = null;
+    }
+
+    // Called with registryLock held
+    private void rebuildSnapshots() {
+        if (snapshots == null) {
+            publishSnapshots();
+        }
+    }
+
+    private void publishSnapshots() {
+        BookingObserver[][] next = new BookingObserver[EVENT_TYPES.length][];
+        List<BookingObserver> subscribed = new ArrayList<>(attachOrder.size());
+        for (BookingEventType eventType : EVENT_TYPES) {
+            subscribed.clear();
+            for (BookingObserver observer : attachOrder) {
+                Subscription subscription = members.get(observer);
+                if (subscription.eventTypes.contains(eventType)) {
+                    subscribed.add(subscription.target);
+                }
+            }
+            next[eventType.ordinal()] = subscribed.isEmpty()
+                    ? NO_OBSERVERS : subscribed.toArray(NO_OBSERVERS);
+        }
+        snapshots = next;
+
+        BatchTarget[] targets = new BatchTarget[attachOrder.size()];
+        for (int i = 0; i < targets.length; i++) {
+            Subscription subscription = members.get(attachOrder.get(i));
+            targets[i] = new BatchTarget(subscription.target, EnumSet.copyOf(subscription.eventTypes));
+        }
+        batchTargets = targets;
+    }
+
+    private static BookingObserver[][] emptySnapshots() {
+        BookingObserver[][] empty = new BookingObserver[EVENT_TYPES.length][];
+        for (int i = 0; i < empty.length; i++) {
+            empty[i] = NO_OBSERVERS;
+        }
+        return empty;
+    }
+
+    private static void closeIfAsync(BookingObserver target) {
+        if (target instanceof AsyncObserverChannel) {
+            ((AsyncObserverChannel) target).close();
+        }
+    }
+
+    private static final class BatchTarget {
+        private final BookingObserver observer;
+        private final EnumSet<BookingEventType> eventTypes;
+        private final boolean allTypes;
+
+        BatchTarget(BookingObserver observer, EnumSet<BookingEventType> eventTypes) {
+            this.observer = observer;
+            this.eventTypes = eventTypes;
+            this.allTypes = eventTypes.size() == EVENT_TYPES.length;
+        }
+    }
+
+    private static final class Batch {
+        private final List<BookingEvent> events = new ArrayList<>();
+        private final List<Integer> marks = new ArrayList<>();  // events.size() when each nested level began
+    }
+
+    private static final class Subscription {
+        private BookingObserver target;
+        private final EnumSet<BookingEventType> eventTypes;
+
+        Subscription(BookingObserver target, EnumSet<BookingEventType> eventTypes) {
+            this.target = target;
+            this.eventTypes = eventTypes;
         }
     }
 }
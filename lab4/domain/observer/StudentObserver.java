@@ -1,5 +1,7 @@
 package lab4.domain.observer;
 
+import lab4.domain.logging.Output;
+
 // Concrete Observer - Student receives notifications
 public class StudentObserver implements BookingObserver {
     private String studentName;
@@ -9,26 +11,29 @@ public class StudentObserver implements BookingObserver {
     }
     
     @Override
-    public void update(String eventType, String message) {
-        System.out.print("   [Student " + studentName + "] ");
-        
+    public void update(BookingEvent event) {
+        String action;
+
         // Student-specific actions based on event type
-        switch (eventType) {
-            case "BOOKING_CONFIRMED":
-                System.out.println("Added to calendar");
+        switch (event.getType()) {
+            case BOOKING_CONFIRMED:
+                action = "Added to calendar";
                 break;
-            case "LESSON_STARTING":
-                System.out.println("Preparing for lesson");
+            case LESSON_STARTING:
+                action = "Preparing for lesson";
                 break;
-            case "LESSON_COMPLETED":
-                System.out.println("Time to review notes");
+            case LESSON_COMPLETED:
+                action = "Time to review notes";
                 break;
-            case "BOOKING_CANCELLED":
-                System.out.println("Removed from schedule");
+            case BOOKING_CANCELLED:
+                action = "Removed from schedule";
                 break;
-            case "LESSON_RESCHEDULED":
-                System.out.println("Schedule updated");
+            case LESSON_RESCHEDULED:
+                action = "Schedule updated";
                 break;
+            default:
+                return;
         }
+        Output.println("   [Student " + studentName + "] " + action);
     }
 }
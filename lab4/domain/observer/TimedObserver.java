@@ -0,0 +1,49 @@
+package lab4.domain.observer;
+
+import java.util.List;
+
+import lab4.domain.metrics.BookingMetrics;
+import lab4.domain.metrics.LatencyHistogram;
+
+// Records how long the wrapped observer spends in the sampled updates; a batch counts as one update.
+// Sits directly around the observer, inside any async channel, so it times the observer's own
+// work rather than the enqueue.
+class TimedObserver implements BookingObserver {
+    private final BookingObserver observer;
+    private final BookingMetrics metrics;
+    private final LatencyHistogram latency;
+
+    TimedObserver(BookingObserver observer, BookingMetrics metrics, LatencyHistogram latency) {
+        this.observer = observer;
+        this.metrics = metrics;
+        this.latency = latency;
+    }
+
+    @Override
+    public void update(BookingEvent event) {
+        if (!metrics.sample()) {
+            observer.update(event);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            observer.update(event);
+        } finally {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void updateBatch(List<BookingEvent> events) {
+        if (!metrics.sample()) {
+            observer.updateBatch(events);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            observer.updateBatch(events);
+        } finally {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+}
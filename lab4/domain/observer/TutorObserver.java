@@ -1,5 +1,7 @@
 package lab4.domain.observer;
 
+import lab4.domain.logging.Output;
+
 // Concrete Observer - Tutor receives notifications
 public class TutorObserver implements BookingObserver {
     private String tutorName;
@@ -9,26 +11,29 @@ public class TutorObserver implements BookingObserver {
     }
     
     @Override
-    public void update(String eventType, String message) {
-        System.out.print("   [Tutor " + tutorName + "] ");
-        
+    public void update(BookingEvent event) {
+        String action;
+
         // Tutor-specific actions based on event type
-        switch (eventType) {
-            case "BOOKING_CONFIRMED":
-                System.out.println("Preparing materials");
+        switch (event.getType()) {
+            case BOOKING_CONFIRMED:
+                action = "Preparing materials";
                 break;
-            case "LESSON_STARTING":
-                System.out.println("Ready to teach");
+            case LESSON_STARTING:
+                action = "Ready to teach";
                 break;
-            case "LESSON_COMPLETED":
-                System.out.println("Recording hours");
+            case LESSON_COMPLETED:
+                action = "Recording hours";
                 break;
-            case "BOOKING_CANCELLED":
-                System.out.println("Slot available");
+            case BOOKING_CANCELLED:
+                action = "Slot available";
                 break;
-            case "LESSON_RESCHEDULED":
-                System.out.println("Schedule updated");
+            case LESSON_RESCHEDULED:
+                action = "Schedule updated";
                 break;
+            default:
+                return;
         }
+        Output.println("   [Tutor " + tutorName + "] " + action);
     }
 }
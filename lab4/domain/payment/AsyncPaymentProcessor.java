@@ -0,0 +1,17 @@
+package lab4.domain.payment;
+
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking variant of PaymentProcessor: calls return at once and the futures complete
+// when the external service answers
+public interface AsyncPaymentProcessor extends AutoCloseable {
+
+    // Completes with the transaction ID
+    CompletableFuture<String> processPayment(double amount);
+
+    CompletableFuture<Boolean> validatePayment(String transactionId);
+
+    // Payments already submitted are still settled
+    @Override
+    void close();
+}
@@ -0,0 +1,182 @@
+package lab4.domain.payment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Async adapter: payments are queued and a dispatcher thread drains whatever has piled up
+// (up to maxBatchSize) into one makeTransactions call. At most maxInFlight batches are at the
+// external service at once; while they are all busy new payments keep queueing, so batches grow
+// with load instead of callers blocking. The queue is bounded by maxQueued: past that a payment
+// fails right away with PaymentUnavailableException instead of waiting behind an unbounded backlog.
+public class BatchingPaymentAdapter implements AsyncPaymentProcessor {
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+    public static final int DEFAULT_MAX_QUEUED = 4096;
+
+    private static final String SYSTEM_ACCOUNT = "TUTOR_SYSTEM_ACCOUNT";
+    private static final String STUDENT_ACCOUNT = "STUDENT_ACCOUNT";
+    private static final String CURRENCY = "USD";
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final ExternalPaymentService externalService;
+    private final int maxBatchSize;
+    private final Semaphore inFlight;
+    private final ExecutorService callers;
+    private final BlockingQueue<PendingPayment> queue;
+    private final Thread dispatcher;
+    private volatile boolean closed;
+
+    public BatchingPaymentAdapter(ExternalPaymentService externalService) {
+        this(externalService, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_IN_FLIGHT, DEFAULT_MAX_QUEUED);
+    }
+
+    public BatchingPaymentAdapter(ExternalPaymentService externalService, int maxBatchSize, int maxInFlight,
+                                  int maxQueued) {
+        if (maxBatchSize < 1 || maxInFlight < 1 || maxQueued < 1) {
+            throw new IllegalArgumentException("Batch size, in-flight and queue limits must be positive");
+        }
+        this.externalService = externalService;
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new LinkedBlockingQueue<>(maxQueued);
+        this.inFlight = new Semaphore(maxInFlight);
+        int instance = INSTANCES.incrementAndGet();
+        AtomicInteger callerCount = new AtomicInteger();
+        this.callers = Executors.newFixedThreadPool(maxInFlight, task -> {
+            Thread thread = new Thread(task, "payment-" + instance + "-caller-" + callerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = new Thread(this::dispatchLoop, "payment-" + instance + "-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    @Override
+    public CompletableFuture<String> processPayment(double amount) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        if (closed) {
+            result.completeExceptionally(new IllegalStateException("Payment adapter is closed"));
+            return result;
+        }
+        PendingPayment payment = new PendingPayment(amount, result);
+        if (!queue.offer(payment)) {
+            result.completeExceptionally(new PaymentUnavailableException(
+                    "Payment queue is full (" + (queue.size() + queue.remainingCapacity()) + " waiting)"));
+            return result;
+        }
+        // close() may have drained the queue between the check above and the offer; if this payment
+        // is still queued nobody else will take it. Otherwise the dispatcher or close() has it.
+        if (closed && queue.remove(payment)) {
+            result.completeExceptionally(new IllegalStateException("Payment adapter is closed"));
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> validatePayment(String transactionId) {
+        return CompletableFuture.supplyAsync(() -> externalService.checkTransactionStatus(transactionId), callers);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // payments that raced with close() after the dispatcher finished
+        PendingPayment late;
+        while ((late = queue.poll()) != null) {
+            late.result.completeExceptionally(new IllegalStateException("Payment adapter is closed"));
+        }
+        callers.shutdown();
+    }
+
+    private void dispatchLoop() {
+        List<PendingPayment> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            try {
+                if (closed && queue.isEmpty()) {
+                    return;
+                }
+                if (!closed) {
+                    batch.add(queue.take());
+                }
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                if (!batch.isEmpty()) {
+                    // uninterruptible: an interrupt from close() must not drop a batch already taken off the queue
+                    inFlight.acquireUninterruptibly();
+                    submit(new ArrayList<>(batch));
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                // close() wakes the dispatcher from take(); the loop drains what is left before returning
+            }
+        }
+    }
+
+    private void submit(List<PendingPayment> batch) {
+        try {
+            callers.execute(() -> {
+                try {
+                    settle(batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            fail(batch, 0, new IllegalStateException("Payment adapter is closed", e));
+        }
+    }
+
+    private void settle(List<PendingPayment> batch) {
+        String[] fromAccounts = new String[batch.size()];
+        double[] amounts = new double[batch.size()];
+        Arrays.fill(fromAccounts, STUDENT_ACCOUNT);
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = batch.get(i).amount;
+        }
+        try {
+            String[] transactionIds = externalService.makeTransactions(fromAccounts, SYSTEM_ACCOUNT, amounts, CURRENCY);
+            int settled = transactionIds == null ? 0 : Math.min(transactionIds.length, batch.size());
+            for (int i = 0; i < settled; i++) {
+                batch.get(i).result.complete(transactionIds[i]);
+            }
+            if (settled < batch.size()) {
+                fail(batch, settled, new IllegalStateException("Payment provider returned " + settled
+                        + " transaction IDs for a batch of " + batch.size()));
+            }
+        } catch (RuntimeException e) {
+            fail(batch, 0, e);
+        }
+    }
+
+    // Payments from index 'from' on; futures that are already complete are left alone
+    private static void fail(List<PendingPayment> batch, int from, RuntimeException e) {
+        for (int i = from; i < batch.size(); i++) {
+            batch.get(i).result.completeExceptionally(e);
+        }
+    }
+
+    private static final class PendingPayment {
+        private final double amount;
+        private final CompletableFuture<String> result;
+
+        PendingPayment(double amount, CompletableFuture<String> result) {
+            this.amount = amount;
+            this.result = result;
+        }
+    }
+}
@@ -1,18 +1,50 @@
 package lab4.domain.payment;
 
+import lab4.domain.logging.Output;
+
 public class ExternalPaymentService {
+    private final TransactionIdGenerator idGenerator;
+
+    // Shares the process-wide generator, so two services never hand out the same ID
+    public ExternalPaymentService() {
+        this(SnowflakeIdGenerator.getDefault());
+    }
+
+    public ExternalPaymentService(TransactionIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
 
     public String makeTransaction(String fromAccount, String toAccount, double amount, String currency) {
-        System.out.println("🌐 External Payment Service:");
-        System.out.println("   From: " + fromAccount);
-        System.out.println("   To: " + toAccount);
-        System.out.println("   Amount: " + amount + " " + currency);
-        System.out.println("   Status: ✅ Transaction successful");
-        return "TXN" + System.currentTimeMillis();
+        Output.println("🌐 External Payment Service:");
+        Output.println("   From: " + fromAccount);
+        Output.println("   To: " + toAccount);
+        Output.println("   Amount: " + amount + " " + currency);
+        Output.println("   Status: ✅ Transaction successful");
+        return nextTransactionId();
+    }
+
+    // Batch endpoint: one round trip for many payments, IDs returned in the order of the amounts
+    public String[] makeTransactions(String[] fromAccounts, String toAccount, double[] amounts, String currency) {
+        if (fromAccounts.length != amounts.length) {
+            throw new IllegalArgumentException("Expected " + amounts.length + " accounts, got " + fromAccounts.length);
+        }
+        double total = 0;
+        String[] transactionIds = new String[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            total += amounts[i];
+            transactionIds[i] = nextTransactionId();
+        }
+        Output.println("🌐 External Payment Service: batch of " + amounts.length
+                + " to " + toAccount + ", total " + total + " " + currency + " ✅");
+        return transactionIds;
+    }
+
+    protected String nextTransactionId() {
+        return idGenerator.nextTransactionId();
     }
 
     public boolean checkTransactionStatus(String transactionId) {
-        System.out.println("🔍 Checking transaction " + transactionId + ": COMPLETED");
+        Output.println("🔍 Checking transaction " + transactionId + ": COMPLETED");
         return true;
     }
 }
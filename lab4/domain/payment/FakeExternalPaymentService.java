@@ -0,0 +1,83 @@
+package lab4.domain.payment;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Silent stand-in for the payment provider with adjustable latency and failure rate,
+// for exercising timeouts, retries and the circuit breaker. Settings can change mid-run
+// to simulate a provider that degrades and recovers.
+public class FakeExternalPaymentService extends ExternalPaymentService {
+    private volatile long minLatencyMillis;
+    private volatile long maxLatencyMillis;
+    private volatile double failureRate;
+    private final LongAdder calls = new LongAdder();
+
+    public FakeExternalPaymentService() {
+        super();
+    }
+
+    public FakeExternalPaymentService(TransactionIdGenerator idGenerator) {
+        super(idGenerator);
+    }
+
+    // Every call takes a uniformly random latency in [minMillis, maxMillis]
+    public void setLatency(long minMillis, long maxMillis) {
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Invalid latency range: " + minMillis + ".." + maxMillis);
+        }
+        this.minLatencyMillis = minMillis;
+        this.maxLatencyMillis = maxMillis;
+    }
+
+    // Fraction of calls (0..1) that fail with IllegalStateException after their latency
+    public void setFailureRate(double failureRate) {
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("Failure rate must be between 0 and 1");
+        }
+        this.failureRate = failureRate;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public String makeTransaction(String fromAccount, String toAccount, double amount, String currency) {
+        simulateCall();
+        return nextTransactionId();
+    }
+
+    @Override
+    public String[] makeTransactions(String[] fromAccounts, String toAccount, double[] amounts, String currency) {
+        simulateCall();
+        String[] transactionIds = new String[amounts.length];
+        for (int i = 0; i < transactionIds.length; i++) {
+            transactionIds[i] = nextTransactionId();
+        }
+        return transactionIds;
+    }
+
+    @Override
+    public boolean checkTransactionStatus(String transactionId) {
+        simulateCall();
+        return true;
+    }
+
+    private void simulateCall() {
+        calls.increment();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latency = minLatencyMillis == maxLatencyMillis
+                ? minLatencyMillis : random.nextLong(minLatencyMillis, maxLatencyMillis + 1);
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Payment provider call interrupted", e);
+            }
+        }
+        if (random.nextDouble() < failureRate) {
+            throw new IllegalStateException("Payment provider error");
+        }
+    }
+}
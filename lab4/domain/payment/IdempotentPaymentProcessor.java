@@ -0,0 +1,149 @@
+package lab4.domain.payment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Decorator in front of any PaymentProcessor.
+// processPayment(key, amount) charges once per idempotency key: a retried booking gets the
+// original transaction ID back, and concurrent calls with the same key wait for the first one.
+// A failed charge is forgotten so the retry can try again.
+// Completed transactions never change state, so successful validations are cached and repeat
+// validations of the same ID don't reach the external service. Both maps are bounded LRUs.
+public class IdempotentPaymentProcessor implements PaymentProcessor {
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private final PaymentProcessor delegate;
+    private final Map<String, Charge> charges;
+    private final Map<String, Boolean> completed;
+    private final LongAdder duplicateCharges = new LongAdder();
+    private final LongAdder newCharges = new LongAdder();
+    private final LongAdder statusHits = new LongAdder();
+    private final LongAdder statusMisses = new LongAdder();
+
+    public IdempotentPaymentProcessor(PaymentProcessor delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES);
+    }
+
+    public IdempotentPaymentProcessor(PaymentProcessor delegate, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.delegate = delegate;
+        this.charges = lru(maxEntries);
+        this.completed = lru(maxEntries);
+    }
+
+    // Without a key there is nothing to deduplicate on
+    @Override
+    public String processPayment(double amount) {
+        return delegate.processPayment(amount);
+    }
+
+    public String processPayment(String idempotencyKey, double amount) {
+        if (idempotencyKey == null) {
+            throw new IllegalArgumentException("Idempotency key cannot be null");
+        }
+        Charge charge;
+        boolean owner = false;
+        synchronized (charges) {
+            charge = charges.get(idempotencyKey);
+            if (charge == null) {
+                charge = new Charge(amount);
+                charges.put(idempotencyKey, charge);
+                owner = true;
+            }
+        }
+        if (charge.amount != amount) {
+            throw new IllegalArgumentException("Idempotency key " + idempotencyKey
+                    + " was already used for an amount of " + charge.amount);
+        }
+        if (!owner) {
+            duplicateCharges.increment();
+            try {
+                return charge.transactionId.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        newCharges.increment();
+        try {
+            String transactionId = delegate.processPayment(amount);
+            charge.transactionId.complete(transactionId);
+            return transactionId;
+        } catch (RuntimeException e) {
+            synchronized (charges) {
+                charges.remove(idempotencyKey, charge);
+            }
+            charge.transactionId.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean validatePayment(String transactionId) {
+        synchronized (completed) {
+            if (completed.get(transactionId) != null) {
+                statusHits.increment();
+                return true;
+            }
+        }
+        statusMisses.increment();
+        boolean status = delegate.validatePayment(transactionId);
+        if (status) {
+            synchronized (completed) {
+                completed.put(transactionId, Boolean.TRUE);
+            }
+        }
+        return status;
+    }
+
+    public long getDuplicateCharges() {
+        return duplicateCharges.sum();
+    }
+
+    public long getNewCharges() {
+        return newCharges.sum();
+    }
+
+    public long getStatusHits() {
+        return statusHits.sum();
+    }
+
+    public long getStatusMisses() {
+        return statusMisses.sum();
+    }
+
+    public double getStatusHitRate() {
+        long hitCount = statusHits.sum();
+        long total = hitCount + statusMisses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotentPaymentProcessor[charges=" + getNewCharges() + ", duplicates=" + getDuplicateCharges()
+                + ", statusHits=" + getStatusHits() + ", statusMisses=" + getStatusMisses() + "]";
+    }
+
+    private static <V> Map<String, V> lru(int maxEntries) {
+        return new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private static final class Charge {
+        private final double amount;
+        private final CompletableFuture<String> transactionId = new CompletableFuture<>();
+
+        Charge(double amount) {
+            this.amount = amount;
+        }
+    }
+}
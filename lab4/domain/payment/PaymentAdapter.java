@@ -1,10 +1,10 @@
 package lab4.domain.payment;
 
+import lab4.domain.logging.Output;
+
 public class PaymentAdapter implements PaymentProcessor{
     private ExternalPaymentService externalService;
 
-    private String lastTransactionId;
-
     private static final String SYSTEM_ACCOUNT = "TUTOR_SYSTEM_ACCOUNT";
     private static final String CURRENCY = "USD";
 
@@ -13,29 +13,26 @@ public class PaymentAdapter implements PaymentProcessor{
     }
 
     @Override
-    public void processPayment(double amount) {
-        System.out.println("\n💳 Processing payment through adapter...");
-        lastTransactionId = externalService.makeTransaction(
+    public String processPayment(double amount) {
+        Output.println("\n💳 Processing payment through adapter...");
+        String transactionId = externalService.makeTransaction(
             "STUDENT_ACCOUNT", 
             SYSTEM_ACCOUNT,      // to - our system account
             amount,              // value - from our parameter
             CURRENCY             // currency - we provide this
         );
         
-        System.out.println("💳 Adapter: Payment processed. Transaction ID: " + lastTransactionId);
+        Output.println("💳 Adapter: Payment processed. Transaction ID: " + transactionId);
+        return transactionId;
     }
 
     @Override
     public boolean validatePayment(String transactionId) {
-        System.out.println("\n🔍 Validating payment through adapter...");
+        Output.println("\n🔍 Validating payment through adapter...");
         
         boolean status = externalService.checkTransactionStatus(transactionId);
-        System.out.println("🔍 Adapter: Validation " + (status ? "successful" : "failed"));
+        Output.println("🔍 Adapter: Validation " + (status ? "successful" : "failed"));
 
         return status;
     }
-
-    public String getLastTransactionId() {
-        return lastTransactionId;
-    }
 }
@@ -2,7 +2,8 @@ package lab4.domain.payment;
 
 public interface PaymentProcessor {
     
-    void processPayment(double amount);
+    // Returns the transaction ID of the processed payment
+    String processPayment(double amount);
 
     boolean validatePayment(String transactionId);
 }
@@ -0,0 +1,15 @@
+package lab4.domain.payment;
+
+// The payment provider could not be reached in time, failed repeatedly, or the circuit is open;
+// also used when too many payments are already waiting for it
+public class PaymentUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PaymentUnavailableException(String message) {
+        super(message);
+    }
+
+    public PaymentUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,273 @@
+package lab4.domain.payment;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Decorator that keeps payment calls from hanging booking threads when the provider degrades.
+// Every call runs on a bounded worker pool (a bulkhead of maxConcurrentCalls threads) and is
+// cancelled - its thread interrupted - after timeoutMillis. Failures are retried with jittered
+// exponential backoff and counted by a circuit breaker that fails calls fast while the provider
+// is down. Validations can also be hedged: if the first call hasn't answered after
+// hedgeDelayMillis a second one is started and the first answer wins.
+// A charge that timed out or failed may still have gone through, so charges are only retried
+// when they never reached the provider (bulkhead full), and are never hedged - put
+// IdempotentPaymentProcessor in front to retry them safely.
+public class ResilientPaymentProcessor implements PaymentProcessor, AutoCloseable {
+    private final PaymentProcessor delegate;
+    private final long timeoutMillis;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long hedgeDelayMillis;
+    private final int maxConcurrentCalls;
+    private final CircuitBreaker circuitBreaker;
+    private final ExecutorService workers;
+    private final Executor hedgeTimer;
+
+    private ResilientPaymentProcessor(Builder builder) {
+        this.delegate = builder.delegate;
+        this.timeoutMillis = builder.timeoutMillis;
+        this.maxAttempts = builder.maxAttempts;
+        this.baseBackoffMillis = builder.baseBackoffMillis;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.hedgeDelayMillis = builder.hedgeDelayMillis;
+        this.maxConcurrentCalls = builder.maxConcurrentCalls;
+        this.circuitBreaker = builder.circuitBreaker != null
+                ? builder.circuitBreaker : new CircuitBreaker(5, 10_000);
+        AtomicInteger workerCount = new AtomicInteger();
+        // no queue: a call either gets a thread right away or is rejected
+        this.workers = new ThreadPoolExecutor(0, maxConcurrentCalls, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), task -> {
+                    Thread thread = new Thread(task, "payment-call-" + workerCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // the hedge check itself is trivial, so it runs on the JDK's delay thread instead of taking a worker
+        this.hedgeTimer = CompletableFuture.delayedExecutor(hedgeDelayMillis, TimeUnit.MILLISECONDS, Runnable::run);
+    }
+
+    @Override
+    public String processPayment(double amount) {
+        return call("payment", () -> delegate.processPayment(amount), false);
+    }
+
+    @Override
+    public boolean validatePayment(String transactionId) {
+        return call("validation of " + transactionId, () -> delegate.validatePayment(transactionId), true);
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private <T> T call(String operation, Supplier<T> action, boolean idempotent) {
+        PaymentUnavailableException failure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                throw new PaymentUnavailableException("Payment provider circuit is open; " + operation + " refused", failure);
+            }
+            try {
+                T result = attempt(action, idempotent);
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (RejectedExecutionException e) {
+                // never reached the provider, so even a charge can be retried
+                circuitBreaker.onFailure();
+                if (workers.isShutdown()) {
+                    throw new PaymentUnavailableException("Payment processor is closed; " + operation + " refused", e);
+                }
+                failure = new PaymentUnavailableException(operation + " refused: "
+                        + maxConcurrentCalls + " payment calls already in progress", e);
+            } catch (TimeoutException e) {
+                circuitBreaker.onFailure();
+                failure = new PaymentUnavailableException(operation + " timed out after " + timeoutMillis + "ms");
+                if (!idempotent) {
+                    throw failure;
+                }
+            } catch (ExecutionException e) {
+                circuitBreaker.onFailure();
+                failure = new PaymentUnavailableException(operation + " failed", e.getCause());
+                if (!idempotent) {
+                    throw failure;
+                }
+            } catch (RuntimeException | Error e) {
+                // e.g. interrupted while waiting - the trial call of a half-open breaker must still be reported
+                circuitBreaker.onFailure();
+                throw e;
+            }
+            if (attempt < maxAttempts) {
+                backoff(attempt);
+            }
+        }
+        throw failure;
+    }
+
+    // One attempt: the call, plus a hedged backup when asked for; whatever is still running when
+    // the attempt ends (timeout, or the other call won) is cancelled
+    private <T> T attempt(Supplier<T> action, boolean hedge) throws TimeoutException, ExecutionException {
+        CompletableFuture<T> first = new CompletableFuture<>();
+        boolean hedged = hedge && hedgeDelayMillis > 0 && hedgeDelayMillis < timeoutMillis;
+        AtomicInteger pending = new AtomicInteger(hedged ? 2 : 1);
+        List<Future<?>> calls = new CopyOnWriteArrayList<>();
+        calls.add(start(action, first, pending));
+        if (hedged) {
+            hedgeTimer.execute(() -> startHedge(action, first, pending, calls));
+        }
+        try {
+            return first.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentUnavailableException("Interrupted while waiting for the payment provider", e);
+        } finally {
+            // a hedge that has not started yet sees this and stays away
+            first.completeExceptionally(new CancellationException("Attempt finished"));
+            for (Future<?> call : calls) {
+                call.cancel(true);
+            }
+        }
+    }
+
+    private <T> void startHedge(Supplier<T> action, CompletableFuture<T> first, AtomicInteger pending,
+                                List<Future<?>> calls) {
+        if (first.isDone()) {
+            settle(first, pending, null, null);
+            return;
+        }
+        try {
+            calls.add(start(action, first, pending));
+        } catch (RejectedExecutionException e) {
+            settle(first, pending, null, e);
+            return;
+        }
+        if (first.isDone()) {
+            // the attempt ended while the hedge was being started
+            calls.forEach(call -> call.cancel(true));
+        }
+    }
+
+    private <T> Future<?> start(Supplier<T> action, CompletableFuture<T> first, AtomicInteger pending) {
+        return workers.submit(() -> {
+            T value;
+            try {
+                value = action.get();
+            } catch (Throwable e) {
+                settle(first, pending, null, e);
+                return;
+            }
+            settle(first, pending, value, null);
+        });
+    }
+
+    // The first success completes the attempt; it only fails once every call has failed
+    private static <T> void settle(CompletableFuture<T> first, AtomicInteger pending, T value, Throwable error) {
+        boolean last = pending.decrementAndGet() == 0;
+        if (error == null && !first.isDone()) {
+            first.complete(value);
+        } else if (last && error != null) {
+            first.completeExceptionally(error);
+        }
+    }
+
+    // Full jitter: a random pause between 0 and the exponential backoff for this attempt
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentUnavailableException("Interrupted while backing off", e);
+        }
+    }
+
+    public static class Builder {
+        private final PaymentProcessor delegate;
+        private long timeoutMillis = 2_000;
+        private int maxAttempts = 3;
+        private long baseBackoffMillis = 50;
+        private long maxBackoffMillis = 1_000;
+        private long hedgeDelayMillis;
+        private int maxConcurrentCalls = 32;
+        private CircuitBreaker circuitBreaker;
+
+        public Builder(PaymentProcessor delegate) {
+            if (delegate == null) {
+                throw new IllegalArgumentException("Payment processor cannot be null");
+            }
+            this.delegate = delegate;
+        }
+
+        public Builder setTimeout(long millis) {
+            if (millis < 1) {
+                throw new IllegalArgumentException("Timeout must be positive");
+            }
+            this.timeoutMillis = millis;
+            return this;
+        }
+
+        public Builder setMaxAttempts(int attempts) {
+            if (attempts < 1) {
+                throw new IllegalArgumentException("At least one attempt is needed");
+            }
+            this.maxAttempts = attempts;
+            return this;
+        }
+
+        public Builder setBackoff(long baseMillis, long maxMillis) {
+            if (baseMillis < 0 || maxMillis < baseMillis) {
+                throw new IllegalArgumentException("Invalid backoff range: " + baseMillis + ".." + maxMillis);
+            }
+            this.baseBackoffMillis = baseMillis;
+            this.maxBackoffMillis = maxMillis;
+            return this;
+        }
+
+        // 0 turns hedging off
+        public Builder setHedgeDelay(long millis) {
+            if (millis < 0) {
+                throw new IllegalArgumentException("Hedge delay cannot be negative");
+            }
+            this.hedgeDelayMillis = millis;
+            return this;
+        }
+
+        // Bulkhead: calls beyond this many running at once are refused instead of adding threads
+        public Builder setMaxConcurrentCalls(int calls) {
+            if (calls < 1) {
+                throw new IllegalArgumentException("At least one concurrent call is needed");
+            }
+            this.maxConcurrentCalls = calls;
+            return this;
+        }
+
+        public Builder setCircuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        public ResilientPaymentProcessor build() {
+            return new ResilientPaymentProcessor(this);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package lab4.domain.payment;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Snowflake-style 64-bit IDs: 41 bits of milliseconds since 2024-01-01, 10 bits of node ID and
+// 12 bits of sequence, so IDs from different nodes never collide and IDs from one node increase.
+// The last (millisecond, sequence) pair lives in one AtomicLong and is advanced with CAS - no locks.
+// More than 4096 IDs in a millisecond borrow from the next millisecond instead of spinning, and
+// a clock that steps backwards keeps counting from the last value, so IDs stay monotonic.
+// Uniqueness needs one generator per node ID: getDefault() is the process-wide one, with the node ID
+// taken from configuration, and every default ExternalPaymentService shares it.
+public class SnowflakeIdGenerator implements TransactionIdGenerator {
+    public static final long EPOCH_MILLIS = 1704067200000L;  // 2024-01-01T00:00:00Z
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+    // Node ID of the default generator: the system property wins over the environment variable; 0 without either
+    public static final String NODE_ID_PROPERTY = "lab4.payment.nodeId";
+    public static final String NODE_ID_ENV = "PAYMENT_NODE_ID";
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 10;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;  // ceil(64 / 5)
+
+    private final long nodeBits;
+    // (milliseconds since EPOCH_MILLIS) << SEQUENCE_BITS | sequence of the last issued ID
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    // Created on first use, like BookingManager
+    private static final class DefaultHolder {
+        private static final SnowflakeIdGenerator INSTANCE = new SnowflakeIdGenerator(configuredNodeId());
+    }
+
+    public static SnowflakeIdGenerator getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static int configuredNodeId() {
+        String value = System.getProperty(NODE_ID_PROPERTY);
+        String source = NODE_ID_PROPERTY;
+        if (value == null) {
+            value = System.getenv(NODE_ID_ENV);
+            source = NODE_ID_ENV;
+        }
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Node ID in " + source + " is not a number: " + value, e);
+        }
+    }
+
+    @Override
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = last.get();
+            next = now > previous ? now : previous + 1;
+        } while (!last.compareAndSet(previous, next));
+        long millis = next >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+    }
+
+    // "TXN" + 13 Crockford base32 digits: fixed width, so the strings sort like the IDs
+    @Override
+    public String nextTransactionId() {
+        long id = nextId();
+        char[] chars = new char[3 + ENCODED_LENGTH];
+        chars[0] = 'T';
+        chars[1] = 'X';
+        chars[2] = 'N';
+        for (int i = chars.length - 1; i >= 3; i--) {
+            chars[i] = BASE32[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    // Milliseconds since the Unix epoch at which the ID was issued
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+}
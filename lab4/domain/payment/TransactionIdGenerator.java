@@ -0,0 +1,12 @@
+package lab4.domain.payment;
+
+// Source of unique transaction IDs; implementations must be safe to call from many threads
+public interface TransactionIdGenerator {
+
+    long nextId();
+
+    // String form handed to payment callers
+    default String nextTransactionId() {
+        return "TXN" + nextId();
+    }
+}
@@ -4,19 +4,46 @@ package lab4.domain.strategy;
 public class BulkDiscountStrategy implements PricingStrategy {
     
     @Override
-    public double calculatePrice(double basePrice, int numberOfLessons) {
-        double total = basePrice * numberOfLessons;
-        
+    public int discountBasisPoints(int numberOfLessons) {
         // Apply tiered discounts
         if (numberOfLessons >= 10) {
-            System.out.println("      20% bulk discount applied");
-            return total * 0.80;  // 20% off
+            return 2000;  // 20% off
         } else if (numberOfLessons >= 5) {
-            System.out.println("      10% bulk discount applied");
-            return total * 0.90;  // 10% off
+            return 1000;  // 10% off
         }
         
-        return total;
+        return 0;
+    }
+
+    @Override
+    public void calculatePricesCents(long[] basePriceCents, int[] numberOfLessons, long[] out) {
+        Money.checkSameLength(basePriceCents.length, numberOfLessons.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            int lessons = numberOfLessons[i];
+            long keep = Money.FULL_BASIS_POINTS - (lessons >= 10 ? 2000 : lessons >= 5 ? 1000 : 0);
+            out[i] = (basePriceCents[i] * lessons * keep + Money.FULL_BASIS_POINTS / 2) / Money.FULL_BASIS_POINTS;
+        }
+    }
+
+    @Override
+    public void calculatePrices(double[] basePrices, int[] numberOfLessons, double[] out) {
+        Money.checkSameLength(basePrices.length, numberOfLessons.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            int lessons = numberOfLessons[i];
+            long keep = Money.FULL_BASIS_POINTS - (lessons >= 10 ? 2000 : lessons >= 5 ? 1000 : 0);
+            long cents = Math.round(basePrices[i] * 100) * lessons;
+            out[i] = ((cents * keep + Money.FULL_BASIS_POINTS / 2) / Money.FULL_BASIS_POINTS) / 100.0;
+        }
+    }
+
+    @Override
+    public String describeDiscount(int numberOfLessons) {
+        if (numberOfLessons >= 10) {
+            return "20% bulk discount applied";
+        } else if (numberOfLessons >= 5) {
+            return "10% bulk discount applied";
+        }
+        return null;
     }
     
     @Override
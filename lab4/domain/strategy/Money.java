@@ -0,0 +1,64 @@
+package lab4.domain.strategy;
+
+// Fixed-point money helpers - amounts are whole cents in a long, discounts are basis points (1/100 %)
+public final class Money {
+    public static final int FULL_BASIS_POINTS = 10_000;
+
+    private Money() {}
+
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    public static double toDouble(long cents) {
+        return cents / 100.0;
+    }
+
+    public static int toBasisPoints(double fraction) {
+        return (int) Math.round(fraction * FULL_BASIS_POINTS);
+    }
+
+    // Rounds half up to the nearest cent
+    public static long applyDiscount(long cents, int basisPoints) {
+        return (cents * (FULL_BASIS_POINTS - basisPoints) + FULL_BASIS_POINTS / 2) / FULL_BASIS_POINTS;
+    }
+
+    // Bulk form of applyDiscount with one discount for every element; a plain counted loop the JIT can unroll
+    public static void applyDiscount(long[] basePriceCents, int[] numberOfLessons, int basisPoints, long[] out) {
+        checkSameLength(basePriceCents.length, numberOfLessons.length, out.length);
+        long keep = FULL_BASIS_POINTS - basisPoints;
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (basePriceCents[i] * numberOfLessons[i] * keep + FULL_BASIS_POINTS / 2) / FULL_BASIS_POINTS;
+        }
+    }
+
+    public static void applyDiscount(double[] basePrices, int[] numberOfLessons, int basisPoints, double[] out) {
+        checkSameLength(basePrices.length, numberOfLessons.length, out.length);
+        long keep = FULL_BASIS_POINTS - basisPoints;
+        for (int i = 0; i < out.length; i++) {
+            long cents = Math.round(basePrices[i] * 100) * numberOfLessons[i];
+            out[i] = ((cents * keep + FULL_BASIS_POINTS / 2) / FULL_BASIS_POINTS) / 100.0;
+        }
+    }
+
+    static void checkSameLength(int prices, int lessons, int out) {
+        if (prices != lessons || prices != out) {
+            throw new IllegalArgumentException("Price, lesson count and output arrays must have the same length");
+        }
+    }
+
+    // "$1234.50" - only for display, never on the quoting path
+    public static String format(long cents) {
+        StringBuilder text = new StringBuilder(16);
+        if (cents < 0) {
+            text.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % 100;
+        text.append('$').append(cents / 100).append('.');
+        if (fraction < 10) {
+            text.append('0');
+        }
+        return text.append(fraction).toString();
+    }
+}
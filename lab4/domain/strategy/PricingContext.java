@@ -1,8 +1,13 @@
 package lab4.domain.strategy;
 
+import lab4.domain.logging.Output;
+
 // Context class - uses a pricing strategy
+// quoteCents is the silent hot path; calculateTotalPrice also explains the price on the console.
+// An optional QuoteCache memoizes single quotes; it is cleared whenever the strategy is swapped.
 public class PricingContext {
-    private PricingStrategy strategy;
+    private volatile PricingStrategy strategy;
+    private volatile QuoteCache quoteCache;
     
     public PricingContext(PricingStrategy strategy) {
         this.strategy = strategy;
@@ -10,13 +15,57 @@ public class PricingContext {
     
     public void setStrategy(PricingStrategy strategy) {
         this.strategy = strategy;
-        System.out.println("\nStrategy: " + strategy.getStrategyName());
+        QuoteCache cache = quoteCache;
+        if (cache != null) {
+            cache.clear();
+        }
+        Output.println("\nStrategy: " + strategy.getStrategyName());
+    }
+
+    public void enableQuoteCache(int maxEntries, long ttlMillis) {
+        quoteCache = new QuoteCache(maxEntries, ttlMillis);
+    }
+
+    public void disableQuoteCache() {
+        quoteCache = null;
+    }
+
+    // null when caching is off
+    public QuoteCache getQuoteCache() {
+        return quoteCache;
+    }
+
+    // Exact total in cents - no allocation, no I/O
+    public long quoteCents(long basePriceCents, int numberOfLessons) {
+        return quote(strategy, basePriceCents, numberOfLessons);
+    }
+
+    private long quote(PricingStrategy current, long basePriceCents, int numberOfLessons) {
+        QuoteCache cache = quoteCache;
+        if (cache != null) {
+            return cache.quoteCents(current, basePriceCents, numberOfLessons);
+        }
+        return current.calculatePriceCents(basePriceCents, numberOfLessons);
+    }
+    
+    // Bulk quoting for catalog pages - see PricingStrategy.calculatePricesCents
+    public void quoteCents(long[] basePriceCents, int[] numberOfLessons, long[] out) {
+        strategy.calculatePricesCents(basePriceCents, numberOfLessons, out);
+    }
+
+    public void calculatePrices(double[] basePrices, int[] numberOfLessons, double[] out) {
+        strategy.calculatePrices(basePrices, numberOfLessons, out);
     }
     
     public double calculateTotalPrice(double basePrice, int numberOfLessons) {
-        double totalPrice = strategy.calculatePrice(basePrice, numberOfLessons);
-        System.out.println("   ✓ Total: $" + String.format("%.2f", totalPrice) + " (" + numberOfLessons + " lessons)");
-        return totalPrice;
+        PricingStrategy current = strategy;
+        long totalCents = quote(current, Money.toCents(basePrice), numberOfLessons);
+        String discount = current.describeDiscount(numberOfLessons);
+        if (discount != null) {
+            Output.println("      " + discount);
+        }
+        Output.println("   ✓ Total: " + Money.format(totalCents) + " (" + numberOfLessons + " lessons)");
+        return Money.toDouble(totalCents);
     }
     
     public PricingStrategy getStrategy() {
@@ -0,0 +1,197 @@
+package lab4.domain.strategy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Composite Strategy - stacks several strategies into one price
+// Stages run from highest to lowest priority and their discounts compound
+// (10% then 20% = 28% off). An exclusive stage that applies stops all lower priority stages,
+// and the total discount is capped. build() compiles the stages into a flat table of combined
+// discounts per lesson count, so a quote is one array read instead of a walk over the stages.
+// When a stage's parameters change (its version moves) the table is recompiled on the next quote.
+public class PricingPipeline implements PricingStrategy {
+    // lesson counts below this are answered from the precompiled table
+    static final int COMPILED_LESSON_COUNTS = 128;
+
+    private final String name;
+    private final PricingStrategy[] stages;
+    private final boolean[] exclusive;
+    private final int maxDiscountBasisPoints;
+    private volatile int[] compiledDiscounts;
+    private volatile int compiledVersion;
+
+    private PricingPipeline(Builder builder) {
+        List<Stage> ordered = new ArrayList<>(builder.stages);
+        ordered.sort(Comparator.comparingInt((Stage stage) -> stage.priority).reversed());
+        this.name = builder.name;
+        this.stages = new PricingStrategy[ordered.size()];
+        this.exclusive = new boolean[ordered.size()];
+        for (int i = 0; i < stages.length; i++) {
+            stages[i] = ordered.get(i).strategy;
+            exclusive[i] = ordered.get(i).exclusive;
+        }
+        this.maxDiscountBasisPoints = builder.maxDiscountBasisPoints;
+        compile();
+    }
+
+    private synchronized void compile() {
+        int version = getVersion();
+        int[] table = new int[COMPILED_LESSON_COUNTS];
+        for (int lessons = 0; lessons < COMPILED_LESSON_COUNTS; lessons++) {
+            table[lessons] = evaluate(lessons);
+        }
+        // table first: a reader that sees the new version is guaranteed to see the new table
+        compiledDiscounts = table;
+        compiledVersion = version;
+    }
+
+    private int[] table() {
+        if (compiledVersion != getVersion()) {
+            compile();
+        }
+        return compiledDiscounts;
+    }
+
+    // Versions only ever grow, so the sum changes whenever any stage changes
+    @Override
+    public int getVersion() {
+        int version = 0;
+        for (PricingStrategy stage : stages) {
+            version += stage.getVersion();
+        }
+        return version;
+    }
+
+    @Override
+    public int discountBasisPoints(int numberOfLessons) {
+        int[] table = table();
+        if (numberOfLessons >= 0 && numberOfLessons < table.length) {
+            return table[numberOfLessons];
+        }
+        return evaluate(numberOfLessons);
+    }
+
+    @Override
+    public void calculatePricesCents(long[] basePriceCents, int[] numberOfLessons, long[] out) {
+        Money.checkSameLength(basePriceCents.length, numberOfLessons.length, out.length);
+        int[] table = table();
+        for (int i = 0; i < out.length; i++) {
+            int lessons = numberOfLessons[i];
+            int discount = lessons >= 0 && lessons < table.length ? table[lessons] : evaluate(lessons);
+            out[i] = Money.applyDiscount(basePriceCents[i] * lessons, discount);
+        }
+    }
+
+    @Override
+    public void calculatePrices(double[] basePrices, int[] numberOfLessons, double[] out) {
+        Money.checkSameLength(basePrices.length, numberOfLessons.length, out.length);
+        int[] table = table();
+        for (int i = 0; i < out.length; i++) {
+            int lessons = numberOfLessons[i];
+            int discount = lessons >= 0 && lessons < table.length ? table[lessons] : evaluate(lessons);
+            out[i] = Money.toDouble(Money.applyDiscount(Money.toCents(basePrices[i]) * lessons, discount));
+        }
+    }
+
+    private int evaluate(int numberOfLessons) {
+        // remaining share of the price, in basis points
+        long remaining = Money.FULL_BASIS_POINTS;
+        for (int i = 0; i < stages.length; i++) {
+            int discount = stages[i].discountBasisPoints(numberOfLessons);
+            if (discount <= 0) {
+                continue;
+            }
+            remaining = (remaining * (Money.FULL_BASIS_POINTS - discount) + Money.FULL_BASIS_POINTS / 2)
+                    / Money.FULL_BASIS_POINTS;
+            if (exclusive[i]) {
+                break;
+            }
+        }
+        return (int) Math.min(Money.FULL_BASIS_POINTS - remaining, maxDiscountBasisPoints);
+    }
+
+    @Override
+    public String describeDiscount(int numberOfLessons) {
+        int total = discountBasisPoints(numberOfLessons);
+        if (total <= 0) {
+            return null;
+        }
+        StringBuilder applied = new StringBuilder();
+        for (int i = 0; i < stages.length; i++) {
+            if (stages[i].discountBasisPoints(numberOfLessons) <= 0) {
+                continue;
+            }
+            applied.append(applied.length() == 0 ? "" : " + ").append(stages[i].getStrategyName());
+            if (exclusive[i]) {
+                break;
+            }
+        }
+        String capped = total == maxDiscountBasisPoints ? ", capped" : "";
+        return (total / 100) + "." + (total % 100 < 10 ? "0" : "") + (total % 100)
+                + "% combined discount (" + applied + capped + ")";
+    }
+
+    @Override
+    public String getStrategyName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < stages.length; i++) {
+            description.append(i == 0 ? "" : " + ").append(stages[i].getStrategyName());
+            if (exclusive[i]) {
+                description.append(" (exclusive)");
+            }
+        }
+        return description + ", max " + (maxDiscountBasisPoints / 100) + "% off";
+    }
+
+    public static class Builder {
+        private String name = "Combined Pricing";
+        private final List<Stage> stages = new ArrayList<>();
+        private int maxDiscountBasisPoints = Money.FULL_BASIS_POINTS;
+
+        public Builder setName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder add(PricingStrategy strategy, int priority) {
+            stages.add(new Stage(strategy, priority, false));
+            return this;
+        }
+
+        // When this stage gives any discount, lower priority stages are skipped
+        public Builder addExclusive(PricingStrategy strategy, int priority) {
+            stages.add(new Stage(strategy, priority, true));
+            return this;
+        }
+
+        public Builder setMaxDiscount(double fraction) {
+            this.maxDiscountBasisPoints = Money.toBasisPoints(fraction);
+            return this;
+        }
+
+        public PricingPipeline build() {
+            if (stages.isEmpty()) {
+                throw new IllegalArgumentException("Pricing pipeline needs at least one strategy");
+            }
+            return new PricingPipeline(this);
+        }
+    }
+
+    private static final class Stage {
+        private final PricingStrategy strategy;
+        private final int priority;
+        private final boolean exclusive;
+
+        Stage(PricingStrategy strategy, int priority, boolean exclusive) {
+            this.strategy = strategy;
+            this.priority = priority;
+            this.exclusive = exclusive;
+        }
+    }
+}
@@ -1,8 +1,48 @@
 package lab4.domain.strategy;
 
 // Strategy interface - defines pricing algorithm
+// Every strategy is a discount (in basis points) that depends only on the number of lessons, which is
+// what lets PricingPipeline stack strategies and precompute them. Prices are computed in whole cents
+// (see Money) so quotes are exact and allocation free; the double overload is kept for callers that
+// still work in dollars.
 public interface PricingStrategy {
-    double calculatePrice(double basePrice, int numberOfLessons);
+    int discountBasisPoints(int numberOfLessons);
+
+    default long calculatePriceCents(long basePriceCents, int numberOfLessons) {
+        return Money.applyDiscount(basePriceCents * numberOfLessons, discountBasisPoints(numberOfLessons));
+    }
+
+    default double calculatePrice(double basePrice, int numberOfLessons) {
+        return Money.toDouble(calculatePriceCents(Money.toCents(basePrice), numberOfLessons));
+    }
+
+    // Quotes a whole catalog at once: out[i] = price of numberOfLessons[i] lessons at basePriceCents[i].
+    // Strategies override this with a tight loop of their own, so the per-element call is never virtual.
+    default void calculatePricesCents(long[] basePriceCents, int[] numberOfLessons, long[] out) {
+        Money.checkSameLength(basePriceCents.length, numberOfLessons.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = calculatePriceCents(basePriceCents[i], numberOfLessons[i]);
+        }
+    }
+
+    default void calculatePrices(double[] basePrices, int[] numberOfLessons, double[] out) {
+        Money.checkSameLength(basePrices.length, numberOfLessons.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = calculatePrice(basePrices[i], numberOfLessons[i]);
+        }
+    }
+
+    // Changes whenever the strategy's parameters change, so caches and compiled pipelines can tell
+    // that earlier quotes are stale. Strategies without mutable parameters keep the default.
+    default int getVersion() {
+        return 0;
+    }
+
+    // Human readable note about the discount applied for this many lessons, or null when there is none
+    default String describeDiscount(int numberOfLessons) {
+        return null;
+    }
+
     String getStrategyName();
     String getDescription();
 }
@@ -0,0 +1,182 @@
+package lab4.domain.strategy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Memoizes quotes per (strategy, strategy version, base price, lesson count).
+// A bounded LRU with a time-to-live, split into segments the way ConcurrentHashMap used to be:
+// each segment is an access-ordered LinkedHashMap under its own lock holding an equal share of
+// maxEntries, and evicts its least recently used quote when full. Quoting threads only contend
+// when they hit the same segment, and a hit allocates nothing - the lookup key is a reusable probe
+// owned by the segment lock.
+// A strategy whose parameters change gets a new version, so its old quotes can never be served again
+// and simply age out.
+public class QuoteCache {
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_ENTRIES = 64;   // smaller caches are one exact LRU
+
+    private final long ttlNanos;
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public QuoteCache(int maxEntries, long ttlMillis) {
+        if (maxEntries < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Cache size and TTL must be positive");
+        }
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maxEntries / MIN_SEGMENT_ENTRIES)));
+        int perSegment = (maxEntries + count - 1) / count;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.segments = new Segment[count];
+        this.segmentMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    public long quoteCents(PricingStrategy strategy, long basePriceCents, int numberOfLessons) {
+        int version = strategy.getVersion();
+        int hash = hash(strategy, version, basePriceCents, numberOfLessons);
+        // mixed differently from HashMap's bucket index, so each segment still uses all its buckets
+        Segment segment = segments[((hash * 0x9E3779B9) >>> 16) & segmentMask];
+        long now = System.nanoTime();
+        synchronized (segment) {
+            Entry cached = segment.get(segment.probe.set(strategy, version, basePriceCents, numberOfLessons, hash));
+            if (cached != null && now - cached.createdAt < ttlNanos) {
+                hits.increment();
+                return cached.priceCents;
+            }
+        }
+        misses.increment();
+        // computed outside the lock; a racing thread may compute the same quote, either one is fine
+        long price = strategy.calculatePriceCents(basePriceCents, numberOfLessons);
+        Key key = new Key().set(strategy, version, basePriceCents, numberOfLessons, hash);
+        synchronized (segment) {
+            segment.put(key, new Entry(price, now));
+        }
+        return price;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    // Stored quotes, expired ones included
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int getCapacity() {
+        return segments.length * segments[0].capacity;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "QuoteCache[size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions() + "]";
+    }
+
+    private static int hash(PricingStrategy strategy, int version, long basePriceCents, int numberOfLessons) {
+        int h = System.identityHashCode(strategy);
+        h = h * 31 + version;
+        h = h * 31 + Long.hashCode(basePriceCents);
+        return h * 31 + numberOfLessons;
+    }
+
+    // Guarded by its own monitor
+    private final class Segment extends LinkedHashMap<Key, Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final Key probe = new Key();
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() <= capacity) {
+                return false;
+            }
+            evictions.increment();
+            return true;
+        }
+    }
+
+    // Mutable only so a segment's probe can be reused; keys stored in a segment are never changed
+    private static final class Key {
+        private PricingStrategy strategy;
+        private int version;
+        private long basePriceCents;
+        private int numberOfLessons;
+        private int hash;
+
+        Key set(PricingStrategy strategy, int version, long basePriceCents, int numberOfLessons, int hash) {
+            this.strategy = strategy;
+            this.version = version;
+            this.basePriceCents = basePriceCents;
+            this.numberOfLessons = numberOfLessons;
+            this.hash = hash;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return strategy == other.strategy && version == other.version
+                    && basePriceCents == other.basePriceCents && numberOfLessons == other.numberOfLessons;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        private final long priceCents;
+        private final long createdAt;
+
+        Entry(long priceCents, long createdAt) {
+            this.priceCents = priceCents;
+            this.createdAt = createdAt;
+        }
+    }
+}
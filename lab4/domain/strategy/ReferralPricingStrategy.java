@@ -2,26 +2,52 @@ package lab4.domain.strategy;
 
 // Concrete Strategy - Referral pricing for students who bring friends
 public class ReferralPricingStrategy implements PricingStrategy {
-    private int referralsCount;
+    private volatile int referralsCount;
+    private volatile int discountBasisPoints;
+    private volatile int version;
     
     public ReferralPricingStrategy(int referralsCount) {
         this.referralsCount = referralsCount;
+        // Each referral gives 5% discount, max 30%
+        this.discountBasisPoints = Math.min(referralsCount * 500, 3000);
+    }
+
+    public synchronized void setReferralsCount(int referralsCount) {
+        this.referralsCount = referralsCount;
+        this.discountBasisPoints = Math.min(referralsCount * 500, 3000);
+        version++;
+    }
+
+    public synchronized void addReferral() {
+        setReferralsCount(referralsCount + 1);
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
     }
     
     @Override
-    public double calculatePrice(double basePrice, int numberOfLessons) {
-        double total = basePrice * numberOfLessons;
-        
-        // Each referral gives 5% discount, max 30%
-        double discountPercentage = Math.min(referralsCount * 0.05, 0.30);
-        
-        if (discountPercentage > 0) {
-            System.out.println("      " + (int)(discountPercentage * 100) + 
-                             "% referral discount (" + referralsCount + " referrals)");
-            return total * (1 - discountPercentage);
+    public int discountBasisPoints(int numberOfLessons) {
+        return discountBasisPoints;
+    }
+
+    @Override
+    public void calculatePricesCents(long[] basePriceCents, int[] numberOfLessons, long[] out) {
+        Money.applyDiscount(basePriceCents, numberOfLessons, discountBasisPoints, out);
+    }
+
+    @Override
+    public void calculatePrices(double[] basePrices, int[] numberOfLessons, double[] out) {
+        Money.applyDiscount(basePrices, numberOfLessons, discountBasisPoints, out);
+    }
+
+    @Override
+    public String describeDiscount(int numberOfLessons) {
+        if (discountBasisPoints > 0) {
+            return (discountBasisPoints / 100) + "% referral discount (" + referralsCount + " referrals)";
         }
-        
-        return total;
+        return null;
     }
     
     @Override
@@ -3,18 +3,45 @@ package lab4.domain.strategy;
 // Concrete Strategy - Seasonal discounts (summer/winter promotions)
 public class SeasonalDiscountStrategy implements PricingStrategy {
     private String season;
-    private double discountPercentage;
+    private volatile double discountPercentage;
+    private volatile int discountBasisPoints;
+    private volatile int version;
     
     public SeasonalDiscountStrategy(String season, double discountPercentage) {
         this.season = season;
         this.discountPercentage = discountPercentage;
+        this.discountBasisPoints = Money.toBasisPoints(discountPercentage);
     }
     
+    public synchronized void setDiscountPercentage(double discountPercentage) {
+        this.discountPercentage = discountPercentage;
+        this.discountBasisPoints = Money.toBasisPoints(discountPercentage);
+        version++;
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+    
+    @Override
+    public int discountBasisPoints(int numberOfLessons) {
+        return discountBasisPoints;
+    }
+
+    @Override
+    public void calculatePricesCents(long[] basePriceCents, int[] numberOfLessons, long[] out) {
+        Money.applyDiscount(basePriceCents, numberOfLessons, discountBasisPoints, out);
+    }
+
+    @Override
+    public void calculatePrices(double[] basePrices, int[] numberOfLessons, double[] out) {
+        Money.applyDiscount(basePrices, numberOfLessons, discountBasisPoints, out);
+    }
+
     @Override
-    public double calculatePrice(double basePrice, int numberOfLessons) {
-        double total = basePrice * numberOfLessons;
-        System.out.println("      " + (int)(discountPercentage * 100) + "% " + season + " discount applied");
-        return total * (1 - discountPercentage);
+    public String describeDiscount(int numberOfLessons) {
+        return (int)(discountPercentage * 100) + "% " + season + " discount applied";
     }
     
     @Override
@@ -4,8 +4,26 @@ package lab4.domain.strategy;
 public class StandardPricingStrategy implements PricingStrategy {
     
     @Override
-    public double calculatePrice(double basePrice, int numberOfLessons) {
-        return basePrice * numberOfLessons;
+    public int discountBasisPoints(int numberOfLessons) {
+        return 0;
+    }
+
+    @Override
+    public long calculatePriceCents(long basePriceCents, int numberOfLessons) {
+        return basePriceCents * numberOfLessons;
+    }
+
+    @Override
+    public void calculatePricesCents(long[] basePriceCents, int[] numberOfLessons, long[] out) {
+        Money.checkSameLength(basePriceCents.length, numberOfLessons.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = basePriceCents[i] * numberOfLessons[i];
+        }
+    }
+
+    @Override
+    public void calculatePrices(double[] basePrices, int[] numberOfLessons, double[] out) {
+        Money.applyDiscount(basePrices, numberOfLessons, 0, out);
     }
     
     @Override
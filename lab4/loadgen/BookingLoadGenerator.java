@@ -0,0 +1,128 @@
+package lab4.loadgen;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import lab4.domain.booking.BookingManager;
+import lab4.domain.factory.LessonFactory;
+import lab4.domain.logging.Output;
+import lab4.domain.logging.OutputSink;
+import lab4.domain.metrics.BookingMetrics;
+import lab4.domain.models.Lesson;
+import lab4.domain.models.TimeSlot;
+import lab4.domain.models.Tutor;
+import lab4.domain.models.TutorRegistry;
+import lab4.domain.observer.AdminObserver;
+import lab4.domain.observer.StudentObserver;
+import lab4.domain.observer.TutorObserver;
+
+// Closed-loop load test of BookingManager: every worker thread books a random tutor into a
+// random hour of the week and cancels it again, with the usual observers attached.
+// Reports throughput, rejected (double-booked) attempts and booking latency percentiles, followed by
+// BookingManager's own metrics (also on JMX while the run lasts) to show which observer is slow.
+// Usage: BookingLoadGenerator [threads] [seconds] [tutors]
+public class BookingLoadGenerator {
+    private static final int HOURS_PER_WEEK = 7 * 24;
+    private static final long REFERENCE_MONDAY_MINUTE = 4 * 24 * 60;
+    private static final int SAMPLES_PER_THREAD = 1 << 16;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int tutorCount = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+
+        Output.setSink(new DiscardingSink());
+        BookingManager manager = BookingManager.getInstance();
+        BookingMetrics metrics = new BookingMetrics();
+        metrics.registerMBean();
+        manager.enableMetrics(metrics);
+        manager.attach(new StudentObserver("Load"));
+        manager.attach(new TutorObserver("Load"));
+        manager.attach(new AdminObserver());
+
+        TutorRegistry registry = TutorRegistry.getInstance();
+        Tutor[] tutors = new Tutor[tutorCount];
+        for (int i = 0; i < tutorCount; i++) {
+            tutors[i] = registry.intern("Load tutor " + i, "Math", i % 30);
+        }
+        Lesson lesson = LessonFactory.createLesson("math");
+
+        LongAdder bookings = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        long[][] samples = new long[threads][SAMPLES_PER_THREAD];
+        int[] sampleCounts = new int[threads];
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long[] latencies = samples[worker];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    Tutor tutor = tutors[random.nextInt(tutors.length)];
+                    long start = REFERENCE_MONDAY_MINUTE + random.nextInt(HOURS_PER_WEEK) * 60L;
+                    TimeSlot slot = TimeSlot.of(start, start + 60);
+                    long begin = System.nanoTime();
+                    boolean booked = manager.bookLesson(tutor, lesson, slot);
+                    long latency = System.nanoTime() - begin;
+                    // keeps the latest SAMPLES_PER_THREAD latencies per thread
+                    latencies[count++ & (SAMPLES_PER_THREAD - 1)] = latency;
+                    if (booked) {
+                        bookings.increment();
+                        manager.cancelBooking(tutor, lesson, slot);
+                    } else {
+                        rejected.increment();
+                    }
+                }
+                sampleCounts[worker] = Math.min(count, SAMPLES_PER_THREAD);
+                done.countDown();
+            }, "load-" + t);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        int total = 0;
+        for (int count : sampleCounts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(samples[t], 0, all, offset, sampleCounts[t]);
+            offset += sampleCounts[t];
+        }
+        Arrays.sort(all);
+
+        long attempts = bookings.sum() + rejected.sum();
+        System.out.println("threads=" + threads + " seconds=" + seconds + " tutors=" + tutorCount);
+        System.out.printf("bookings/s=%.0f  rejected=%.2f%%%n",
+                attempts / (double) seconds, attempts == 0 ? 0 : 100.0 * rejected.sum() / attempts);
+        System.out.printf("bookLesson latency us: p50=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999),
+                all.length == 0 ? 0 : all[all.length - 1] / 1_000.0);
+        System.out.print(metrics.render());
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000.0;
+    }
+
+    private static final class DiscardingSink implements OutputSink {
+        @Override
+        public void println(String line) {
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package lab4.loadgen;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Time-to-first-booking from a cold JVM: launches TimeToFirstBooking in fresh JVMs and measures
+// the wall time from process spawn to its first booking, for three launch modes:
+//   default  - no flags
+//   tuned    - C1 only and serial GC, which suit short-lived jobs
+//   appcds   - tuned plus an AppCDS archive recorded by a training run of the same workload
+// The class path must consist of jars (AppCDS does not archive classes from directories).
+// Usage: StartupBenchmark [runs] [archive file]
+public class StartupBenchmark {
+    private static final String[] TUNED_FLAGS = { "-XX:TieredStopAtLevel=1", "-XX:+UseSerialGC" };
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        Path archive = Paths.get(args.length > 1 ? args[1] : "target/time-to-first-booking.jsa");
+        String classPath = System.getProperty("java.class.path");
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+        Files.deleteIfExists(archive);
+        if (archive.getParent() != null) {
+            Files.createDirectories(archive.getParent());
+        }
+        launch(command(java, classPath, "-XX:ArchiveClassesAtExit=" + archive));
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("Training run did not produce " + archive);
+        }
+
+        List<String> tunedAppCds = new ArrayList<>(Arrays.asList(TUNED_FLAGS));
+        tunedAppCds.add("-XX:SharedArchiveFile=" + archive);
+        report("default", measure(command(java, classPath), runs));
+        report("tuned", measure(command(java, classPath, TUNED_FLAGS), runs));
+        report("appcds", measure(command(java, classPath, tunedAppCds.toArray(new String[0])), runs));
+    }
+
+    private static List<String> command(String java, String classPath, String... flags) {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(Arrays.asList(flags));
+        command.add("-cp");
+        command.add(classPath);
+        command.add(TimeToFirstBooking.class.getName());
+        return command;
+    }
+
+    private static long[] measure(List<String> command, int runs) throws IOException, InterruptedException {
+        launch(command);  // warms the OS file cache
+        long[] micros = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            micros[i] = launch(command);
+        }
+        Arrays.sort(micros);
+        return micros;
+    }
+
+    // Microseconds from spawning the JVM until it reports its first booking
+    private static long launch(List<String> command) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        long elapsed = -1;
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (elapsed < 0 && line.startsWith(TimeToFirstBooking.MARKER)) {
+                    elapsed = (System.nanoTime() - start) / 1_000;
+                }
+            }
+        }
+        if (process.waitFor() != 0 || elapsed < 0) {
+            throw new IllegalStateException("Probe failed: " + String.join(" ", command));
+        }
+        return elapsed;
+    }
+
+    private static void report(String mode, long[] sortedMicros) {
+        System.out.printf("%-8s min=%6.1fms  median=%6.1fms  p90=%6.1fms  (%d runs)%n", mode,
+                sortedMicros[0] / 1_000.0,
+                sortedMicros[sortedMicros.length / 2] / 1_000.0,
+                sortedMicros[(int) Math.min(sortedMicros.length - 1, Math.ceil(sortedMicros.length * 0.9) - 1)] / 1_000.0,
+                sortedMicros.length);
+    }
+}
@@ -0,0 +1,31 @@
+package lab4.loadgen;
+
+import lab4.domain.booking.BookingManager;
+import lab4.domain.factory.LessonFactory;
+import lab4.domain.models.TimeSlot;
+import lab4.domain.models.Tutor;
+import lab4.domain.models.TutorRegistry;
+import lab4.domain.observer.AdminObserver;
+import lab4.domain.observer.StudentObserver;
+import lab4.domain.observer.TutorObserver;
+
+// What a short-lived booking worker does before its first useful result: attach the observers,
+// register a tutor and book one lesson. Prints MARKER with the time spent inside main;
+// StartupBenchmark measures the whole thing, JVM boot included, from outside.
+public class TimeToFirstBooking {
+    static final String MARKER = "first-booking";
+
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        BookingManager manager = BookingManager.getInstance();
+        manager.attach(new StudentObserver("Alice"));
+        manager.attach(new TutorObserver("Dr. Smith"));
+        manager.attach(new AdminObserver());
+
+        Tutor tutor = TutorRegistry.getInstance().intern("Dr. Smith", "Mathematics", 15);
+        if (!manager.bookLesson(tutor, LessonFactory.createLesson("math"), TimeSlot.parse("Friday 9AM"))) {
+            throw new IllegalStateException("First booking was rejected");
+        }
+        System.out.println(MARKER + " main-ms=" + (System.nanoTime() - start) / 1_000_000.0);
+    }
+}